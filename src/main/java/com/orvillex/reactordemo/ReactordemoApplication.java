@@ -3,10 +3,13 @@ package com.orvillex.reactordemo;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import reactor.core.scheduler.Schedulers;
+
 @SpringBootApplication
 public class ReactordemoApplication {
 
 	public static void main(String[] args) {
+		Schedulers.enableMetrics();
 		SpringApplication.run(ReactordemoApplication.class, args);
 	}
 }
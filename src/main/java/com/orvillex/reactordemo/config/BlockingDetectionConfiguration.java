@@ -0,0 +1,41 @@
+package com.orvillex.reactordemo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+
+/**
+ * Installs BlockHound so that blocking calls made on non-blocking threads
+ * (Netty event loops, Reactor parallel schedulers) are counted as
+ * {@code reactor.blocking.calls} and logged with their stack trace, or fail
+ * the offending call when {@code blocking-detection.fail} is set.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "blocking-detection.enabled", havingValue = "true")
+public class BlockingDetectionConfiguration {
+    @Bean
+    Counter blockingCalls(MeterRegistry registry, @Value("${blocking-detection.fail:false}") boolean fail) {
+        Counter counter = Counter.builder("reactor.blocking.calls")
+            .description("Blocking calls detected on non-blocking threads")
+            .register(registry);
+        BlockHound.builder()
+            .blockingMethodCallback(method -> {
+                counter.increment();
+                BlockingOperationError error = new BlockingOperationError(method);
+                if (fail) {
+                    throw error;
+                }
+                log.warn("Blocking call on {}", Thread.currentThread().getName(), error);
+            })
+            .install();
+        return counter;
+    }
+}
@@ -0,0 +1,50 @@
+package com.orvillex.reactordemo.config;
+
+import java.util.Map;
+
+import com.orvillex.reactordemo.repository.support.Bulkhead;
+import com.orvillex.reactordemo.repository.support.BulkheadInterceptor;
+import com.orvillex.reactordemo.repository.support.RepositoryStore;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(name = "bulkhead.enabled", matchIfMissing = true)
+public class BulkheadConfiguration {
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 100)
+    BulkheadInterceptor bulkheadInterceptor(BulkheadProperties properties, MeterRegistry registry) {
+        BulkheadInterceptor interceptor = new BulkheadInterceptor(registry);
+        for (RepositoryStore store : RepositoryStore.values()) {
+            BulkheadProperties.Limits limits = properties.getStores().get(store.tag());
+            if (limits != null) {
+                Scheduler scheduler = scheduler(store.tag(), limits);
+                interceptor.addStore(store, bulkhead(store.tag(), limits, scheduler), scheduler);
+            }
+        }
+        for (Map.Entry<String, BulkheadProperties.Limits> repository : properties.getRepositories().entrySet()) {
+            Scheduler scheduler = scheduler(repository.getKey(), repository.getValue());
+            interceptor.addRepository(repository.getKey(), bulkhead(repository.getKey(), repository.getValue(), scheduler), scheduler);
+        }
+        return interceptor;
+    }
+
+    private static Scheduler scheduler(String name, BulkheadProperties.Limits limits) {
+        int threads = limits.getThreads() != null ? limits.getThreads() : limits.getMaxConcurrent();
+        return Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "bulkhead-" + name);
+    }
+
+    private static Bulkhead bulkhead(String name, BulkheadProperties.Limits limits, Scheduler scheduler) {
+        return new Bulkhead(name, limits.getMaxConcurrent(), limits.getMaxQueued(), limits.getTimeout(), scheduler);
+    }
+}
@@ -0,0 +1,35 @@
+package com.orvillex.reactordemo.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = true;
+    /**
+     * Bulkheads per store ({@code r2dbc}, {@code mongo}).
+     */
+    private Map<String, Limits> stores = new LinkedHashMap<>();
+    /**
+     * Dedicated bulkheads for single repositories, by simple name, taking
+     * precedence over the store's one.
+     */
+    private Map<String, Limits> repositories = new LinkedHashMap<>();
+
+    @Data
+    public static class Limits {
+        private int maxConcurrent = 10;
+        private int maxQueued = 100;
+        private Duration timeout = Duration.ofSeconds(5);
+        /**
+         * Threads of the bulkhead's scheduler; defaults to max-concurrent.
+         */
+        private Integer threads;
+    }
+}
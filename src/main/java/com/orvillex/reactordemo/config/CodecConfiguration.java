@@ -0,0 +1,56 @@
+package com.orvillex.reactordemo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.orvillex.reactordemo.rest.BinaryMediaTypes;
+
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+/**
+ * Smile (binary JSON) codecs next to the JSON ones, chosen by
+ * {@code Accept}/{@code Content-Type}. They share the application's Jackson
+ * settings and additionally encode {@code Type} as a number.
+ */
+@Configuration
+public class CodecConfiguration {
+    private static final MimeType[] SMILE_MIME_TYPES = {
+        BinaryMediaTypes.APPLICATION_SMILE, new MimeType("application", "*+x-jackson-smile") };
+
+    @Bean
+    Jackson2SmileEncoder jackson2SmileEncoder(Jackson2ObjectMapperBuilder builder) {
+        return smileEncoder(smileMapper(builder));
+    }
+
+    @Bean
+    Jackson2SmileDecoder jackson2SmileDecoder(Jackson2ObjectMapperBuilder builder) {
+        return smileDecoder(smileMapper(builder));
+    }
+
+    @Bean
+    CodecCustomizer smileCodecCustomizer(Jackson2SmileEncoder encoder, Jackson2SmileDecoder decoder) {
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(encoder);
+            configurer.defaultCodecs().jackson2SmileDecoder(decoder);
+        };
+    }
+
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory())
+            .postConfigurer(mapper -> mapper.registerModule(new TypeCodeModule()))
+            .build();
+    }
+
+    public static Jackson2SmileEncoder smileEncoder(ObjectMapper mapper) {
+        return new Jackson2SmileEncoder(mapper, SMILE_MIME_TYPES);
+    }
+
+    public static Jackson2SmileDecoder smileDecoder(ObjectMapper mapper) {
+        return new Jackson2SmileDecoder(mapper, SMILE_MIME_TYPES);
+    }
+}
@@ -0,0 +1,23 @@
+package com.orvillex.reactordemo.config;
+
+import com.orvillex.reactordemo.filter.ConcurrencyLimitFilter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    ConcurrencyLimitFilter concurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry registry) {
+        return new ConcurrencyLimitFilter(properties, registry);
+    }
+}
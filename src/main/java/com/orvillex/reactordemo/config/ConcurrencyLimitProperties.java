@@ -0,0 +1,51 @@
+package com.orvillex.reactordemo.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private List<Route> routes = new ArrayList<>();
+    /**
+     * Paths whose GET handlers stream their response when asked for SSE,
+     * NDJSON or Smile streams; only those requests bypass the limit.
+     */
+    private List<String> streamingPaths = new ArrayList<>(List.of("/taco", "/ingredient"));
+    /**
+     * Path prefixes never limited, such as subscriptions that stay open
+     * for as long as the client likes, whatever its Accept header. WebSocket
+     * upgrades are never limited either.
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/taco/feed", "/taco/popularity"));
+
+    @Data
+    public static class Route {
+        /**
+         * Path prefix the limit applies to, e.g. {@code /taco}.
+         */
+        private String path;
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        /**
+         * Weight of each new limit estimate, between 0 and 1.
+         */
+        private double smoothing = 0.2;
+        /**
+         * Latency increase over the baseline tolerated before the limit shrinks.
+         */
+        private double tolerance = 1.5;
+        /**
+         * Samples averaged into the baseline latency.
+         */
+        private int longWindow = 600;
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.orvillex.reactordemo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import reactor.core.publisher.Mono;
+
+/**
+ * Connection pool that records how long callers wait to acquire a connection.
+ * Pool occupancy gauges (acquired, idle, pending) are bound by Spring Boot for
+ * every {@link ConnectionPool} bean.
+ */
+public class InstrumentedConnectionPool extends ConnectionPool {
+    private final MeterRegistry registry;
+    private final Timer acquired;
+    private final Timer failed;
+
+    public InstrumentedConnectionPool(ConnectionPoolConfiguration configuration, String name, MeterRegistry registry) {
+        super(configuration);
+        this.registry = registry;
+        this.acquired = acquireTimer(name, "success", registry);
+        this.failed = acquireTimer(name, "failure", registry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return super.create()
+                .doOnSuccess(connection -> sample.stop(acquired))
+                .doOnError(e -> sample.stop(failed));
+        });
+    }
+
+    private static Timer acquireTimer(String name, String outcome, MeterRegistry registry) {
+        return Timer.builder("r2dbc.pool.acquire")
+            .description("Time spent waiting for a pooled connection")
+            .tag("name", name)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
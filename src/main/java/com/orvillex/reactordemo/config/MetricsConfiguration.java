@@ -0,0 +1,25 @@
+package com.orvillex.reactordemo.config;
+
+import com.orvillex.reactordemo.repository.support.ReactiveRepositoryInterceptor;
+import com.orvillex.reactordemo.repository.support.RepositoryInterceptorPostProcessor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfiguration {
+    @Bean
+    static RepositoryInterceptorPostProcessor repositoryInterceptorPostProcessor(
+            ObjectProvider<ReactiveRepositoryInterceptor> interceptors) {
+        return new RepositoryInterceptorPostProcessor(interceptors);
+    }
+
+    @Bean
+    MeterRegistryCustomizer<MeterRegistry> commonTags() {
+        return registry -> registry.config().commonTags("application", "reactordemo");
+    }
+}
@@ -1,29 +1,64 @@
 package com.orvillex.reactordemo.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
-import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
 
 @Configuration
+@EnableConfigurationProperties(R2dbcPoolProperties.class)
 @EnableR2dbcRepositories(basePackages = "com.orvillex.reactordemo.repository.mysql")
 public class MySQLConfiguration {
-    
-    @Bean
-	ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory) {
+    private static final Option<String> H2_OPTIONS = Option.valueOf("options");
 
-		Resource schemaResource = new ClassPathResource("db/schema.sql");
-		Resource dataResource = new ClassPathResource("db/data.sql");
+    @Bean(destroyMethod = "dispose")
+    ConnectionPool connectionFactory(@Value("${spring.datasource.url}") String url, R2dbcPoolProperties pool,
+            MeterRegistry registry) {
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+            .builder(ConnectionFactories.get(withStatementCache(ConnectionFactoryOptions.parse(url), pool)))
+            .name(pool.getName())
+            .initialSize(pool.getInitialSize())
+            .maxSize(pool.getMaxSize())
+            .maxAcquireTime(pool.getMaxAcquireTime())
+            .maxCreateConnectionTime(pool.getMaxCreateConnectionTime())
+            .maxIdleTime(pool.getMaxIdleTime())
+            .maxLifeTime(pool.getMaxLifeTime())
+            .validationQuery(pool.getValidationQuery())
+            .build();
+        return new InstrumentedConnectionPool(configuration, pool.getName(), registry);
+    }
 
+    @Bean
+	ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory,
+			@Value("${db.bootstrap.migrations:classpath:db/migration/V*__*.sql}") String migrations,
+			@Value("${db.bootstrap.seed:classpath:db/data.sql}") Resource seed) {
 		ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
 		initializer.setConnectionFactory(connectionFactory);
-		initializer.setDatabasePopulator(new ResourceDatabasePopulator(schemaResource, dataResource));
+		initializer.setDatabasePopulator(new SchemaBootstrap(migrations, seed));
 
 		return initializer;
 	}
+
+    private static ConnectionFactoryOptions withStatementCache(ConnectionFactoryOptions options, R2dbcPoolProperties pool) {
+        if (!"h2".equals(options.getValue(ConnectionFactoryOptions.DRIVER))) {
+            return options;
+        }
+        Object current = options.getValue(H2_OPTIONS);
+        String cacheOption = "QUERY_CACHE_SIZE=" + pool.getStatementCacheSize();
+        return ConnectionFactoryOptions.builder()
+            .from(options)
+            .option(H2_OPTIONS, current == null ? cacheOption : current + ";" + cacheOption)
+            .build();
+    }
 }
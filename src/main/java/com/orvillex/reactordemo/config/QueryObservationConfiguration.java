@@ -0,0 +1,32 @@
+package com.orvillex.reactordemo.config;
+
+import com.orvillex.reactordemo.repository.support.QueryObservationInterceptor;
+import com.orvillex.reactordemo.repository.support.SlowQueriesEndpoint;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+@EnableConfigurationProperties(QueryObservationProperties.class)
+@ConditionalOnProperty(name = "query-observation.enabled", matchIfMissing = true)
+public class QueryObservationConfiguration {
+    /**
+     * Innermost, inside the bulkheads, so only the statement itself is
+     * timed and every retry or hedge is observed on its own.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    QueryObservationInterceptor queryObservationInterceptor(QueryObservationProperties properties) {
+        return new QueryObservationInterceptor(properties.getSlowThreshold(), properties.getSampleRate(),
+            properties.getLogQueueCapacity());
+    }
+
+    @Bean
+    SlowQueriesEndpoint slowQueriesEndpoint(QueryObservationInterceptor interceptor, QueryObservationProperties properties) {
+        return new SlowQueriesEndpoint(interceptor, properties.getTop());
+    }
+}
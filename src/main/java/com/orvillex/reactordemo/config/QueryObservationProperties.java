@@ -0,0 +1,29 @@
+package com.orvillex.reactordemo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "query-observation")
+public class QueryObservationProperties {
+    private boolean enabled = true;
+    /**
+     * Statements at least this slow are always logged.
+     */
+    private Duration slowThreshold = Duration.ofMillis(200);
+    /**
+     * Fraction of the other statements logged, from 0 to 1.
+     */
+    private double sampleRate = 0;
+    /**
+     * Log records waiting for the log thread; more are dropped.
+     */
+    private int logQueueCapacity = 1024;
+    /**
+     * Shapes reported by the slowqueries endpoint.
+     */
+    private int top = 20;
+}
@@ -0,0 +1,24 @@
+package com.orvillex.reactordemo.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "r2dbc.pool")
+public class R2dbcPoolProperties {
+    private String name = "ingredient";
+    private int initialSize = 2;
+    private int maxSize = 10;
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+    private Duration maxCreateConnectionTime = Duration.ofSeconds(5);
+    private Duration maxIdleTime = Duration.ofMinutes(30);
+    private Duration maxLifeTime = Duration.ofHours(1);
+    private String validationQuery = "SELECT 1";
+    /**
+     * Prepared statements kept per connection by the database driver.
+     */
+    private int statementCacheSize = 64;
+}
@@ -0,0 +1,27 @@
+package com.orvillex.reactordemo.config;
+
+import com.orvillex.reactordemo.repository.support.ResilienceInterceptor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+@ConditionalOnProperty(name = "resilience.enabled", matchIfMissing = true)
+public class ResilienceConfiguration {
+    /**
+     * Inside the metrics interceptor, so retries and hedges are timed as
+     * one call, and outside the bulkheads, so every attempt takes a permit.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 50)
+    ResilienceInterceptor resilienceInterceptor(ResilienceProperties properties, MeterRegistry registry) {
+        return new ResilienceInterceptor(properties, registry);
+    }
+}
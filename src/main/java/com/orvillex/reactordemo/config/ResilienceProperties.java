@@ -0,0 +1,60 @@
+package com.orvillex.reactordemo.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    private Duration timeout = Duration.ofSeconds(2);
+    /**
+     * Timeouts for single methods, keyed {@code Repository.method}.
+     */
+    private Map<String, Duration> timeouts = new LinkedHashMap<>();
+    private Retry retry = new Retry();
+    private Breaker circuitBreaker = new Breaker();
+    private Hedge hedge = new Hedge();
+
+    @Data
+    public static class Retry {
+        /**
+         * Retries of failed reads; writes are never retried.
+         */
+        private int maxRetries = 2;
+        private Duration minBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(1);
+        private double jitter = 0.5;
+    }
+
+    @Data
+    public static class Breaker {
+        private double failureRateThreshold = 0.5;
+        private int slidingWindow = 50;
+        private int minimumCalls = 20;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 5;
+    }
+
+    @Data
+    public static class Hedge {
+        private boolean enabled = false;
+        private List<String> methods = List.of("findById");
+        /**
+         * Latency percentile of recent calls after which the hedge is sent.
+         */
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(5);
+        /**
+         * Calls observed before hedging starts.
+         */
+        private int minSamples = 20;
+        private int window = 200;
+    }
+}
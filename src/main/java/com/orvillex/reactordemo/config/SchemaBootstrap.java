@@ -0,0 +1,121 @@
+package com.orvillex.reactordemo.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.r2dbc.connection.init.DatabasePopulator;
+import org.springframework.r2dbc.connection.init.ScriptUtils;
+
+import io.r2dbc.spi.Connection;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Brings the schema up to date without touching data: applies the
+ * {@code V<version>__<description>.sql} scripts newer than the highest
+ * version recorded in {@code schema_version}, recording each one, and runs
+ * the seed script only when {@code Ingredient} is empty. A restart against
+ * a current database costs two queries.
+ */
+@Slf4j
+public class SchemaBootstrap implements DatabasePopulator {
+    private static final Pattern MIGRATION = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final List<Migration> migrations;
+    private final Resource seed;
+
+    public SchemaBootstrap(String migrations, Resource seed) {
+        this.migrations = migrations(new PathMatchingResourcePatternResolver(), migrations);
+        this.seed = seed;
+    }
+
+    @Override
+    public Mono<Void> populate(Connection connection) {
+        return execute(connection, "CREATE TABLE IF NOT EXISTS schema_version ("
+                + "version INT PRIMARY KEY, description VARCHAR(200) NOT NULL, applied_at TIMESTAMP NOT NULL)")
+            .then(queryLong(connection, "SELECT COALESCE(MAX(version), 0) FROM schema_version"))
+            .flatMapMany(current -> Flux.fromIterable(migrations).filter(m -> m.version > current))
+            .concatMap(migration -> apply(connection, migration))
+            .then(queryLong(connection, "SELECT COUNT(*) FROM Ingredient"))
+            .flatMap(ingredients -> {
+                if (ingredients > 0 || seed == null) {
+                    return Mono.empty();
+                }
+                log.info("Seeding empty database from {}", seed.getFilename());
+                return ScriptUtils.executeSqlScript(connection, seed);
+            });
+    }
+
+    private Mono<Void> apply(Connection connection, Migration migration) {
+        log.info("Applying schema version {} ({})", migration.version, migration.description);
+        return ScriptUtils.executeSqlScript(connection, migration.script)
+            .then(Mono.from(connection.createStatement(
+                    "INSERT INTO schema_version (version, description, applied_at) VALUES ($1, $2, CURRENT_TIMESTAMP)")
+                .bind("$1", migration.version)
+                .bind("$2", migration.description)
+                .execute()))
+            .flatMap(result -> Mono.from(result.getRowsUpdated()))
+            .then();
+    }
+
+    private static Mono<Void> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+            .flatMap(result -> result.getRowsUpdated())
+            .then();
+    }
+
+    private static Mono<Long> queryLong(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+            .flatMap(result -> result.map((row, metadata) -> ((Number) row.get(0)).longValue()))
+            .next();
+    }
+
+    static List<Migration> migrations(ResourcePatternResolver resolver, String pattern) {
+        Resource[] resources;
+        try {
+            resources = resolver.getResources(pattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Migration> migrations = Arrays.stream(resources)
+            .map(SchemaBootstrap::migration)
+            .sorted(Comparator.comparingInt(m -> m.version))
+            .collect(Collectors.toList());
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version == migrations.get(i - 1).version) {
+                throw new IllegalStateException("Duplicate schema version " + migrations.get(i).version);
+            }
+        }
+        return migrations;
+    }
+
+    private static Migration migration(Resource script) {
+        Matcher matcher = MIGRATION.matcher(String.valueOf(script.getFilename()));
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Migration " + script.getFilename() + " is not named V<version>__<description>.sql");
+        }
+        return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), script);
+    }
+
+    static final class Migration {
+        final int version;
+        final String description;
+        final Resource script;
+
+        private Migration(int version, String description, Resource script) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.orvillex.reactordemo.config;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.orvillex.reactordemo.enums.Type;
+
+/**
+ * Writes {@link Type} as its one-byte {@link Type#getCode() code} rather than
+ * its name; reading accepts either.
+ */
+public class TypeCodeModule extends SimpleModule {
+    public TypeCodeModule() {
+        super("TypeCodeModule");
+        addSerializer(Type.class, new StdSerializer<Type>(Type.class) {
+            @Override
+            public void serialize(Type value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeNumber(value.getCode());
+            }
+        });
+        addDeserializer(Type.class, new StdDeserializer<Type>(Type.class) {
+            @Override
+            public Type deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                    try {
+                        return Type.fromCode(p.getIntValue());
+                    } catch (IllegalArgumentException e) {
+                        return (Type) ctxt.handleWeirdNumberValue(Type.class, p.getIntValue(), e.getMessage());
+                    }
+                }
+                String name = p.getValueAsString();
+                try {
+                    return Type.valueOf(name);
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    return (Type) ctxt.handleWeirdStringValue(Type.class, name, "not a Type");
+                }
+            }
+        });
+    }
+}
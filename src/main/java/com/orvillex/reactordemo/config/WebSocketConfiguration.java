@@ -0,0 +1,19 @@
+package com.orvillex.reactordemo.config;
+
+import java.util.Map;
+
+import com.orvillex.reactordemo.rest.TacoFeedWebSocketHandler;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+@Configuration
+public class WebSocketConfiguration {
+    @Bean
+    HandlerMapping webSocketMapping(TacoFeedWebSocketHandler tacoFeed) {
+        return new SimpleUrlHandlerMapping(Map.of("/taco/feed/ws", tacoFeed), Ordered.HIGHEST_PRECEDENCE);
+    }
+}
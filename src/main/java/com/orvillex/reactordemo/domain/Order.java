@@ -1,11 +1,14 @@
 package com.orvillex.reactordemo.domain;
 
 import java.util.Date;
+import java.util.List;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.With;
 
 @Data
+@With
 @AllArgsConstructor
 public class Order {
     private final Long id;
@@ -18,4 +21,5 @@ public class Order {
     private final String ccExpiration;
     private final String ccCVV;
     private final Date placedAt;
+    private final List<Long> tacos;
 }
@@ -0,0 +1,16 @@
+package com.orvillex.reactordemo.domain;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TacoIngredients {
+    private final Long id;
+    private final String name;
+    private final Date createdAt;
+    private final List<Ingredient> ingredients;
+}
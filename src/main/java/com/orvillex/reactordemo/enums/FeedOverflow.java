@@ -0,0 +1,11 @@
+package com.orvillex.reactordemo.enums;
+
+/**
+ * What a live feed does for a subscriber that cannot keep up.
+ */
+public enum FeedOverflow {
+    /** Discard events the subscriber has not asked for yet. */
+    DROP,
+    /** Keep only the newest event until the subscriber asks for more. */
+    LATEST
+}
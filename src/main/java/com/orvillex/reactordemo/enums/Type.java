@@ -1,9 +1,31 @@
 package com.orvillex.reactordemo.enums;
 
 public enum Type {
-    WRAP,
-    PROTEIN,
-    VEGGIES,
-    CHEESE,
-    SAUCE
+    WRAP(1),
+    PROTEIN(2),
+    VEGGIES(3),
+    CHEESE(4),
+    SAUCE(5);
+
+    /**
+     * Stable numeric code used by binary encodings instead of the name.
+     */
+    private final int code;
+
+    Type(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static Type fromCode(int code) {
+        for (Type type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown type code " + code);
+    }
 }
@@ -0,0 +1,80 @@
+package com.orvillex.reactordemo.filter;
+
+/**
+ * Concurrency limit adapted to observed latency, after the gradient algorithm
+ * of Netflix concurrency-limits: the limit is scaled by the ratio of the
+ * long-term (baseline) round trip time to the latest one, plus a queue
+ * allowance of {@code sqrt(limit)}. Rising latency shrinks the limit within
+ * a few samples, while steady latency lets it grow again, but only while
+ * the route actually uses at least half of it.
+ */
+public class AdaptiveConcurrencyLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double longWindowFactor;
+
+    private double limit;
+    private double longRtt;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing,
+            double tolerance, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindowFactor = 2d / (longWindow + 1);
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return {@code false} when the limit is reached and the request should
+     *         be rejected
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Releases a permit taken by {@link #tryAcquire()} and, unless
+     * {@code rttNanos} is negative (request cancelled), feeds its latency
+     * into the limit.
+     */
+    public synchronized void release(long rttNanos) {
+        int concurrency = inFlight--;
+        if (rttNanos < 0) {
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            longRtt = rtt;
+            return;
+        }
+        longRtt += (rtt - longRtt) * longWindowFactor;
+        if (longRtt / rtt > 2) {
+            // latency recovered well below the baseline: let the baseline catch up
+            longRtt *= 0.95;
+        }
+        if (concurrency < limit / 2 && rtt <= longRtt * tolerance) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        double next = limit * gradient + Math.sqrt(limit);
+        next = limit * (1 - smoothing) + next * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
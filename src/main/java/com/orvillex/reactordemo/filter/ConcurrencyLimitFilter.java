@@ -0,0 +1,126 @@
+package com.orvillex.reactordemo.filter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.orvillex.reactordemo.config.ConcurrencyLimitProperties;
+import com.orvillex.reactordemo.rest.BinaryMediaTypes;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Admission control per route prefix: requests beyond the route's
+ * {@link AdaptiveConcurrencyLimit} are rejected right away with 503 and
+ * {@code Retry-After} instead of queueing behind a slow database. Streaming
+ * GETs (SSE/NDJSON responses) of the configured streaming paths are
+ * long-lived by design and bypass the limit so they neither hold permits nor
+ * skew the latency samples; any other request is admitted whatever it
+ * accepts. Excluded paths and WebSocket upgrades, subscriptions whose
+ * lifetime says nothing about the backend, are never limited.
+ */
+public class ConcurrencyLimitFilter implements WebFilter {
+    private final List<Route> routes = new ArrayList<>();
+    private final Set<String> streamingPaths;
+    private final List<String> excludedPaths;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry registry) {
+        this.streamingPaths = new HashSet<>(properties.getStreamingPaths());
+        this.excludedPaths = new ArrayList<>(properties.getExcludedPaths());
+        for (ConcurrencyLimitProperties.Route config : properties.getRoutes()) {
+            routes.add(new Route(config, registry));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        Route route = routeFor(path);
+        if (route == null || excluded(exchange, path) || streaming(exchange, path)) {
+            return chain.filter(exchange);
+        }
+        return Mono.defer(() -> {
+            if (!route.limit.tryAcquire()) {
+                route.rejected.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, route.retryAfter);
+                return exchange.getResponse().setComplete();
+            }
+            route.accepted.increment();
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                .doFinally(signal -> route.limit.release(signal == SignalType.CANCEL ? -1 : System.nanoTime() - start));
+        });
+    }
+
+    private Route routeFor(String path) {
+        for (Route route : routes) {
+            if (matches(path, route.path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private boolean excluded(ServerWebExchange exchange, String path) {
+        if ("websocket".equalsIgnoreCase(exchange.getRequest().getHeaders().getUpgrade())) {
+            return true;
+        }
+        return excludedPaths.stream().anyMatch(prefix -> matches(path, prefix));
+    }
+
+    private static boolean matches(String path, String prefix) {
+        return path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+    }
+
+    private boolean streaming(ServerWebExchange exchange, String path) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET || !streamingPaths.contains(path)) {
+            return false;
+        }
+        return exchange.getRequest().getHeaders().getAccept().stream()
+            .anyMatch(m -> m.equalsTypeAndSubtype(MediaType.TEXT_EVENT_STREAM) || m.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)
+                || m.equalsTypeAndSubtype(BinaryMediaTypes.APPLICATION_STREAM_SMILE));
+    }
+
+    private static final class Route {
+        private final String path;
+        private final String retryAfter;
+        private final AdaptiveConcurrencyLimit limit;
+        private final Counter accepted;
+        private final Counter rejected;
+
+        private Route(ConcurrencyLimitProperties.Route config, MeterRegistry registry) {
+            this.path = config.getPath();
+            this.retryAfter = String.valueOf(Math.max(1, config.getRetryAfter().getSeconds()));
+            this.limit = new AdaptiveConcurrencyLimit(config.getInitialLimit(), config.getMinLimit(),
+                config.getMaxLimit(), config.getSmoothing(), config.getTolerance(), config.getLongWindow());
+            this.accepted = admission(registry, "accepted");
+            this.rejected = admission(registry, "rejected");
+            Gauge.builder("http.server.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("route", path)
+                .register(registry);
+        }
+
+        private Counter admission(MeterRegistry registry, String outcome) {
+            return Counter.builder("http.server.admission")
+                .description("Requests admitted or shed by the concurrency limit")
+                .tag("route", path)
+                .tag("outcome", outcome)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.orvillex.reactordemo.filter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes the number of requests currently being handled per route as the
+ * {@code http.server.requests.active} gauge.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InFlightRequestsFilter implements WebFilter {
+    private final Map<String, AtomicInteger> inFlight = new LinkedHashMap<>();
+
+    public InFlightRequestsFilter(MeterRegistry registry,
+            @Value("${metrics.in-flight.routes:/taco,/ingredient}") List<String> routes) {
+        for (String route : routes) {
+            AtomicInteger counter = new AtomicInteger();
+            inFlight.put(route, counter);
+            Gauge.builder("http.server.requests.active", counter, AtomicInteger::get)
+                .description("Requests currently in flight")
+                .tag("route", route)
+                .register(registry);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        AtomicInteger counter = counterFor(exchange.getRequest().getPath().value());
+        if (counter == null) {
+            return chain.filter(exchange);
+        }
+        return Mono.defer(() -> {
+            counter.incrementAndGet();
+            return chain.filter(exchange)
+                .doFinally(signal -> counter.decrementAndGet());
+        });
+    }
+
+    private AtomicInteger counterFor(String path) {
+        for (Map.Entry<String, AtomicInteger> route : inFlight.entrySet()) {
+            String prefix = route.getKey();
+            if (path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+}
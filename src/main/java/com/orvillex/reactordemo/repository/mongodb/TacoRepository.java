@@ -1,9 +1,13 @@
 package com.orvillex.reactordemo.repository.mongodb;
 
+import java.util.Collection;
+
 import com.orvillex.reactordemo.domain.Taco;
 
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 
 import reactor.core.publisher.Flux;
@@ -12,7 +16,18 @@ import reactor.core.publisher.Mono;
 public interface TacoRepository extends ReactiveCrudRepository<Taco, String> {
     Flux<Taco> findByNameOrderByRemark(String name, Pageable pageable);
 
+    @Query("{ 'name': ?0, '$or': [ { 'remark': { '$gt': ?1 } }, { 'remark': ?1, '_id': { '$gt': ?2 } } ] }")
+    Flux<Taco> findByNameAfter(String name, String remark, ObjectId id, Pageable pageable);
+
+    @Query("{ 'name': ?0, '$or': [ { 'remark': null, '_id': { '$gt': ?1 } }, { 'remark': { '$ne': null } } ] }")
+    Flux<Taco> findByNameAfterNullRemark(String name, ObjectId id, Pageable pageable);
+
     Flux<Taco> findByRemarkContaining(String remark, Sort sort);
 
     Mono<Integer> deleteByName(String name);
+
+    @Query(value = "{ 'name': ?0 }", fields = "{ '_id': 1 }")
+    Flux<Taco> findIdsByName(String name, Pageable pageable);
+
+    Mono<Long> deleteByIdIn(Collection<String> ids);
 }
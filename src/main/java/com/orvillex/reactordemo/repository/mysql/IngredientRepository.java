@@ -5,6 +5,8 @@ import com.orvillex.reactordemo.enums.Type;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 
 import reactor.core.publisher.Flux;
@@ -13,9 +15,16 @@ import reactor.core.publisher.Mono;
 public interface IngredientRepository extends ReactiveCrudRepository<Ingredient, Long> {
     Flux<Ingredient> findByTypeOrderByName(Type type, Pageable pageable);
 
+    @Query("SELECT * FROM Ingredient WHERE type = :type AND (name > :name OR (name = :name AND id > :id)) ORDER BY name, id LIMIT :limit")
+    Flux<Ingredient> findByTypeAfter(String type, String name, Long id, int limit);
+
     Flux<Ingredient> findByNameContaining(String name, Sort sort);
 
     Flux<Ingredient> findByNameContainingAndType(String name, Type type);
 
     Mono<Integer> deleteByType(Type type);
+
+    @Modifying
+    @Query("DELETE FROM Ingredient WHERE type = :type LIMIT :limit")
+    Mono<Integer> deleteChunkByType(String type, int limit);
 }
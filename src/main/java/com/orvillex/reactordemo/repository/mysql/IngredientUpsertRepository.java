@@ -0,0 +1,57 @@
+package com.orvillex.reactordemo.repository.mysql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Batch persistence for {@link Ingredient}: a whole batch is written with one
+ * multi-row {@code MERGE} keyed on {@code id}. Rows with an id are updated,
+ * or inserted under that id; rows without one get it from the identity
+ * column.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IngredientUpsertRepository {
+    private final DatabaseClient client;
+
+    /**
+     * @return the ingredients in the same order, with their ids
+     */
+    public Mono<List<Ingredient>> upsertAll(List<Ingredient> ingredients) {
+        if (ingredients.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        StringJoiner rows = new StringJoiner(", ");
+        for (int i = 0; i < ingredients.size(); i++) {
+            rows.add("(:id" + i + ", :name" + i + ", :type" + i + ")");
+        }
+        GenericExecuteSpec spec = client.sql("MERGE INTO Ingredient (id, name, type) KEY (id) VALUES " + rows);
+        for (int i = 0; i < ingredients.size(); i++) {
+            Ingredient ingredient = ingredients.get(i);
+            spec = (ingredient.getId() == null ? spec.bindNull("id" + i, Long.class) : spec.bind("id" + i, ingredient.getId()))
+                .bind("name" + i, ingredient.getName())
+                .bind("type" + i, ingredient.getType().name());
+        }
+        return spec.filter(statement -> statement.returnGeneratedValues("id"))
+            .map(row -> row.get("id", Long.class))
+            .all()
+            .collectList()
+            .map(ids -> {
+                List<Ingredient> saved = new ArrayList<>(ingredients.size());
+                for (int i = 0; i < ingredients.size(); i++) {
+                    saved.add(ingredients.get(i).withId(ids.get(i)));
+                }
+                return saved;
+            });
+    }
+}
@@ -0,0 +1,109 @@
+package com.orvillex.reactordemo.repository.mysql;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import com.orvillex.reactordemo.domain.Order;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Batch persistence for {@link Order}: a whole batch is written with one
+ * multi-row INSERT into {@code Taco_Order} and one into
+ * {@code Taco_Order_Tacos}, inside a single transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderRepository {
+    private static final String[] ORDER_COLUMNS = { "id", "deliveryName", "deliveryStreet", "deliveryCity",
+        "deliveryState", "deliveryZip", "ccNumber", "ccExpiration", "ccCVV", "placedAt" };
+
+    private final DatabaseClient client;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Inserts the orders and their taco rows, returning them in the same
+     * order with ids assigned from {@code Taco_Order_Seq}.
+     */
+    public Mono<List<Order>> insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        Mono<List<Order>> insert = nextIds(orders.size())
+            .map(ids -> {
+                List<Order> withIds = new ArrayList<>(orders.size());
+                for (int i = 0; i < orders.size(); i++) {
+                    withIds.add(orders.get(i).withId(ids.get(i)));
+                }
+                return withIds;
+            })
+            .flatMap(withIds -> insertOrders(withIds)
+                .then(insertOrderTacos(withIds))
+                .thenReturn(withIds));
+        return transactionalOperator.transactional(insert);
+    }
+
+    private Mono<List<Long>> nextIds(int count) {
+        return client.sql("SELECT NEXT VALUE FOR Taco_Order_Seq FROM SYSTEM_RANGE(1, :count)")
+            .bind("count", count)
+            .map(row -> row.get(0, Long.class))
+            .all()
+            .collectList();
+    }
+
+    private Mono<Void> insertOrders(List<Order> orders) {
+        StringJoiner rows = new StringJoiner(", ");
+        for (int i = 0; i < orders.size(); i++) {
+            StringJoiner values = new StringJoiner(", ", "(", ")");
+            for (String column : ORDER_COLUMNS) {
+                values.add(":" + column + i);
+            }
+            rows.add(values.toString());
+        }
+        GenericExecuteSpec spec = client.sql("INSERT INTO Taco_Order (" + String.join(", ", ORDER_COLUMNS)
+            + ") VALUES " + rows);
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            spec = spec.bind("id" + i, order.getId())
+                .bind("deliveryName" + i, order.getDeliveryName())
+                .bind("deliveryStreet" + i, order.getDeliveryStreet())
+                .bind("deliveryCity" + i, order.getDeliveryCity())
+                .bind("deliveryState" + i, order.getDeliveryState())
+                .bind("deliveryZip" + i, order.getDeliveryZip())
+                .bind("ccNumber" + i, order.getCcNumber())
+                .bind("ccExpiration" + i, order.getCcExpiration())
+                .bind("ccCVV" + i, order.getCcCVV())
+                .bind("placedAt" + i, LocalDateTime.ofInstant(order.getPlacedAt().toInstant(), ZoneId.systemDefault()));
+        }
+        return spec.then();
+    }
+
+    private Mono<Void> insertOrderTacos(List<Order> orders) {
+        StringJoiner rows = new StringJoiner(", ");
+        List<Long> values = new ArrayList<>();
+        for (Order order : orders) {
+            for (Long taco : order.getTacos()) {
+                rows.add("(:o" + values.size() + ", :t" + values.size() + ")");
+                values.add(order.getId());
+                values.add(taco);
+            }
+        }
+        if (values.isEmpty()) {
+            return Mono.empty();
+        }
+        GenericExecuteSpec spec = client.sql("INSERT INTO Taco_Order_Tacos (tacoOrder, taco) VALUES " + rows);
+        for (int i = 0; i < values.size(); i += 2) {
+            spec = spec.bind("o" + i, values.get(i)).bind("t" + i, values.get(i + 1));
+        }
+        return spec.then();
+    }
+}
@@ -0,0 +1,99 @@
+package com.orvillex.reactordemo.repository.mysql;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streams tacos joined with their {@code taco_ingredients} rows, ordered by
+ * taco id so that all rows of one taco arrive together, and writes a taco
+ * with its join rows in one transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TacoIngredientRepository {
+    private static final String SELECT = "SELECT t.id, t.name, t.createdAt, ti.ingredient FROM ";
+    private static final String JOIN = " t LEFT JOIN taco_ingredients ti ON ti.taco = t.id ORDER BY t.id, ti.ingredient";
+
+    private final DatabaseClient client;
+    private final TransactionalOperator transactionalOperator;
+
+    public Flux<TacoIngredientRow> findAll() {
+        return client.sql(SELECT + "Taco" + JOIN)
+            .map(TacoIngredientRepository::toRow)
+            .all();
+    }
+
+    public Flux<TacoIngredientRow> findAfter(Long id, int limit) {
+        return client.sql(SELECT + "(SELECT * FROM Taco WHERE id > :id ORDER BY id LIMIT :limit)" + JOIN)
+            .bind("id", id)
+            .bind("limit", limit)
+            .map(TacoIngredientRepository::toRow)
+            .all();
+    }
+
+    /**
+     * Streams the bare {@code taco_ingredients} rows in taco order, so each
+     * ingredient's tacos arrive ascending; only {@code taco} and
+     * {@code ingredient} are set.
+     */
+    public Flux<TacoIngredientRow> findLinks() {
+        return client.sql("SELECT taco, ingredient FROM taco_ingredients ORDER BY taco, ingredient")
+            .map(row -> new TacoIngredientRow(row.get("taco", Long.class), null, null, row.get("ingredient", Long.class)))
+            .all();
+    }
+
+    /**
+     * Inserts a taco and its {@code taco_ingredients} rows.
+     *
+     * @return the id assigned from {@code Taco_Seq}
+     */
+    public Mono<Long> insert(String name, Date createdAt, List<Long> ingredients) {
+        Mono<Long> insert = client.sql("SELECT NEXT VALUE FOR Taco_Seq")
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .flatMap(id -> client.sql("INSERT INTO Taco (id, name, createdAt) VALUES (:id, :name, :createdAt)")
+                .bind("id", id)
+                .bind("name", name)
+                .bind("createdAt", LocalDateTime.ofInstant(createdAt.toInstant(), ZoneId.systemDefault()))
+                .then()
+                .then(insertIngredients(id, ingredients))
+                .thenReturn(id));
+        return transactionalOperator.transactional(insert);
+    }
+
+    private Mono<Void> insertIngredients(Long taco, List<Long> ingredients) {
+        if (ingredients.isEmpty()) {
+            return Mono.empty();
+        }
+        StringJoiner rows = new StringJoiner(", ");
+        for (int i = 0; i < ingredients.size(); i++) {
+            rows.add("(:taco, :i" + i + ")");
+        }
+        GenericExecuteSpec spec = client.sql("INSERT INTO taco_ingredients (taco, ingredient) VALUES " + rows)
+            .bind("taco", taco);
+        for (int i = 0; i < ingredients.size(); i++) {
+            spec = spec.bind("i" + i, ingredients.get(i));
+        }
+        return spec.then();
+    }
+
+    private static TacoIngredientRow toRow(Row row) {
+        LocalDateTime createdAt = row.get("createdAt", LocalDateTime.class);
+        return new TacoIngredientRow(row.get("id", Long.class), row.get("name", String.class),
+            createdAt == null ? null : Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()),
+            row.get("ingredient", Long.class));
+    }
+}
@@ -0,0 +1,19 @@
+package com.orvillex.reactordemo.repository.mysql;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One row of the {@code Taco} ⟕ {@code taco_ingredients} join;
+ * {@code ingredient} is {@code null} for a taco without ingredients.
+ */
+@Data
+@AllArgsConstructor
+public class TacoIngredientRow {
+    private final Long taco;
+    private final String name;
+    private final Date createdAt;
+    private final Long ingredient;
+}
@@ -0,0 +1,172 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Limits the calls in flight against one backend to {@code maxConcurrent},
+ * parks up to {@code maxQueued} more and rejects the rest with
+ * {@link BulkheadFullException}. Admitted calls are subscribed on the
+ * bulkhead's own scheduler, so blocking drivers and work on their results
+ * never run on the shared event loops. Calls fail with a
+ * {@link TimeoutException} when no result (for a {@link Flux}: no first
+ * element) arrives within {@code timeout}, time spent queued included.
+ * <p>
+ * A {@link Flux} gives its permit back with its first signal: the rest of
+ * the stream moves at the consumer's pace, and neither a slow consumer nor
+ * a long-lived stream should time out or keep other calls waiting.
+ */
+public class Bulkhead {
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration timeout;
+    private final Scheduler scheduler;
+
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private int active;
+    private long rejected;
+    private long timeouts;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration timeout, Scheduler scheduler) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.timeout = timeout;
+        this.scheduler = scheduler;
+    }
+
+    public <T> Mono<T> execute(Mono<T> call) {
+        return Mono.usingWhen(acquire(), permit -> call.subscribeOn(scheduler),
+                Permit::release, (permit, e) -> permit.release(), Permit::release)
+            .timeout(timeout)
+            .doOnError(TimeoutException.class, e -> timedOut());
+    }
+
+    public <T> Flux<T> execute(Flux<T> call) {
+        return Flux.usingWhen(acquire(), permit -> call.subscribeOn(scheduler).doOnEach(signal -> permit.releaseNow()),
+                Permit::release, (permit, e) -> permit.release(), Permit::release)
+            .timeout(Mono.delay(timeout), item -> Mono.never())
+            .doOnError(TimeoutException.class, e -> timedOut());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getActive() {
+        return active;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    public synchronized long getTimeouts() {
+        return timeouts;
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit permit = new Permit();
+            synchronized (this) {
+                if (active < maxConcurrent) {
+                    active++;
+                } else if (queue.size() < maxQueued) {
+                    Waiter waiter = new Waiter(sink, permit);
+                    queue.addLast(waiter);
+                    sink.onCancel(waiter::cancel);
+                    return;
+                } else {
+                    rejected++;
+                    sink.error(new BulkheadFullException(name));
+                    return;
+                }
+            }
+            sink.success(permit);
+        });
+    }
+
+    private synchronized void timedOut() {
+        timeouts++;
+    }
+
+    /**
+     * Hands a freed permit to the oldest live waiter, or returns it.
+     */
+    private void handOver() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                next = queue.pollFirst();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            }
+            if (next.grant()) {
+                return;
+            }
+        }
+    }
+
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Mono<Void> release() {
+            return Mono.fromRunnable(this::releaseNow);
+        }
+
+        private void releaseNow() {
+            if (released.compareAndSet(false, true)) {
+                handOver();
+            }
+        }
+    }
+
+    private final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final Permit permit;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(MonoSink<Permit> sink, Permit permit) {
+            this.sink = sink;
+            this.permit = permit;
+        }
+
+        private boolean grant() {
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            sink.success(permit);
+            return true;
+        }
+
+        private void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                synchronized (Bulkhead.this) {
+                    queue.remove(this);
+                }
+            } else {
+                permit.releaseNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.orvillex.reactordemo.repository.support;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A {@link Bulkhead} had neither a free permit nor queue space; surfaces as
+ * 503 so callers back off instead of piling up.
+ */
+public class BulkheadFullException extends ResponseStatusException {
+    public BulkheadFullException(String bulkhead) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Bulkhead " + bulkhead + " is full");
+    }
+}
@@ -0,0 +1,82 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Runs repository calls through the {@link Bulkhead} of their repository or,
+ * failing that, of their store, so a slow backend can only exhaust its own
+ * permits and threads. Calls without a configured bulkhead pass through.
+ */
+public class BulkheadInterceptor implements ReactiveRepositoryInterceptor, DisposableBean {
+    private final MeterRegistry registry;
+    private final Map<String, Bulkhead> byRepository = new HashMap<>();
+    private final Map<RepositoryStore, Bulkhead> byStore = new HashMap<>();
+    private final List<Scheduler> schedulers = new ArrayList<>();
+
+    public BulkheadInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void addRepository(String repository, Bulkhead bulkhead, Scheduler scheduler) {
+        byRepository.put(repository, register(bulkhead, scheduler));
+    }
+
+    public void addStore(RepositoryStore store, Bulkhead bulkhead, Scheduler scheduler) {
+        byStore.put(store, register(bulkhead, scheduler));
+    }
+
+    @Override
+    public <T> Mono<T> interceptMono(RepositoryInvocation invocation, Mono<T> mono) {
+        Bulkhead bulkhead = bulkheadFor(invocation);
+        return bulkhead == null ? mono : bulkhead.execute(mono);
+    }
+
+    @Override
+    public <T> Flux<T> interceptFlux(RepositoryInvocation invocation, Flux<T> flux) {
+        Bulkhead bulkhead = bulkheadFor(invocation);
+        return bulkhead == null ? flux : bulkhead.execute(flux);
+    }
+
+    @Override
+    public void destroy() {
+        schedulers.forEach(Scheduler::dispose);
+    }
+
+    private Bulkhead bulkheadFor(RepositoryInvocation invocation) {
+        Bulkhead bulkhead = byRepository.get(invocation.getRepository());
+        return bulkhead != null ? bulkhead : byStore.get(invocation.getStore());
+    }
+
+    private Bulkhead register(Bulkhead bulkhead, Scheduler scheduler) {
+        schedulers.add(scheduler);
+        Gauge.builder("bulkhead.active", bulkhead, Bulkhead::getActive)
+            .description("Calls holding a bulkhead permit")
+            .tag("name", bulkhead.getName())
+            .register(registry);
+        Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::getQueued)
+            .description("Calls waiting for a bulkhead permit")
+            .tag("name", bulkhead.getName())
+            .register(registry);
+        FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+            .description("Calls rejected because the bulkhead was full")
+            .tag("name", bulkhead.getName())
+            .register(registry);
+        FunctionCounter.builder("bulkhead.timeouts", bulkhead, Bulkhead::getTimeouts)
+            .description("Calls that timed out in the bulkhead")
+            .tag("name", bulkhead.getName())
+            .register(registry);
+        return bulkhead;
+    }
+}
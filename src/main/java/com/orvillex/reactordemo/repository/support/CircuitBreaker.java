@@ -0,0 +1,220 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTransientException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+/**
+ * Count-based circuit breaker. Opens when at least {@code minimumCalls} of
+ * the last {@code slidingWindow} calls were seen and the share of failures
+ * among them reached {@code failureRateThreshold}; stays open for
+ * {@code openDuration}, then lets {@code halfOpenCalls} trial calls through
+ * and closes again only if all of them succeed.
+ * <p>
+ * Only backend failures count as failures: timeouts and transient or
+ * resource errors of the drivers. Calls rejected before reaching the backend
+ * by a bulkhead or breaker count as neither success nor failure, and any
+ * other error, such as a constraint violation, is an answer of a healthy
+ * backend and counts as a success.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED(0),
+        OPEN(1),
+        HALF_OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+    private long rejected;
+
+    public CircuitBreaker(String name, double failureRateThreshold, int slidingWindow, int minimumCalls,
+            Duration openDuration, int halfOpenCalls) {
+        this(name, failureRateThreshold, slidingWindow, minimumCalls, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, double failureRateThreshold, int slidingWindow, int minimumCalls,
+            Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[slidingWindow];
+        this.minimumCalls = minimumCalls;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs {@code call} if the breaker admits it and records its outcome;
+     * cancelled calls count as neither success nor failure.
+     */
+    public <T> Mono<T> execute(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                return Mono.error(new CircuitBreakerOpenException(name));
+            }
+            return call.doOnEach(this::onSignal).doOnCancel(this::onCancel);
+        });
+    }
+
+    public <T> Flux<T> execute(Flux<T> call) {
+        return Flux.defer(() -> {
+            if (!tryAcquire()) {
+                return Flux.error(new CircuitBreakerOpenException(name));
+            }
+            return call.doOnEach(this::onSignal).doOnCancel(this::onCancel);
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                rejected++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                rejected++;
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialsSucceeded >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onError() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    private void onSignal(Signal<?> signal) {
+        if (signal.isOnComplete()) {
+            onSuccess();
+        } else if (signal.isOnError()) {
+            Throwable e = signal.getThrowable();
+            if (e instanceof BulkheadFullException || e instanceof CircuitBreakerOpenException) {
+                onCancel();
+            } else if (isBackendFailure(e)) {
+                onError();
+            } else {
+                onSuccess();
+            }
+        }
+    }
+
+    static boolean isBackendFailure(Throwable e) {
+        return e instanceof TimeoutException
+            || e instanceof TransientDataAccessException
+            || e instanceof DataAccessResourceFailureException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof R2dbcTransientException
+            || e instanceof R2dbcNonTransientResourceException
+            || e instanceof MongoSocketException
+            || e instanceof MongoTimeoutException;
+    }
+
+    private synchronized void onCancel() {
+        if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+            trialsStarted--;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
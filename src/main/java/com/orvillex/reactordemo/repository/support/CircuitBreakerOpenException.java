@@ -0,0 +1,14 @@
+package com.orvillex.reactordemo.repository.support;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The {@link CircuitBreaker} of a backend is open; surfaces as 503 without
+ * the backend being called.
+ */
+public class CircuitBreakerOpenException extends ResponseStatusException {
+    public CircuitBreakerOpenException(String breaker) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Circuit breaker " + breaker + " is open");
+    }
+}
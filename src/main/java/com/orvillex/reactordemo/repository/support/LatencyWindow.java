@@ -0,0 +1,42 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of the last {@code size} calls, for percentile estimates
+ * that follow the backend's current behaviour.
+ */
+public class LatencyWindow {
+    private final long[] samples;
+    private int count;
+    private int next;
+
+    public LatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * @return the percentile in nanoseconds, or {@code -1} with no samples
+     */
+    public synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.min(Math.max(rank, 0), count - 1)];
+    }
+}
@@ -0,0 +1,241 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Times every statement, innermost of the repository interceptors so that
+ * neither bulkhead queueing nor retries are counted, and logs the ones
+ * slower than {@code slowThreshold} plus a {@code sampleRate} fraction of
+ * the rest. A statement is timed up to its first signal, the first row for
+ * a {@link Flux}, so the pace of a streaming consumer does not count. Log
+ * records are queued and written by a single background thread; when the
+ * queue is full they are dropped and counted rather than slowing the query
+ * down. Only scalar arguments are logged, other arguments by type, so that
+ * entities never end up in the log.
+ * <p>
+ * Latency is also kept per query shape, that is per repository method, for
+ * {@link #slowest(int)}.
+ */
+@Slf4j
+public class QueryObservationInterceptor implements ReactiveRepositoryInterceptor, DisposableBean {
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final Map<String, Stats> shapes = new ConcurrentHashMap<>();
+    private final BlockingQueue<Observation> pending;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private final Scheduler logger = Schedulers.newSingle("query-log", true);
+
+    public QueryObservationInterceptor(Duration slowThreshold, double sampleRate, int logQueueCapacity) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.pending = new ArrayBlockingQueue<>(logQueueCapacity);
+    }
+
+    @Override
+    public <T> Mono<T> interceptMono(RepositoryInvocation invocation, Mono<T> mono) {
+        return Mono.defer(() -> {
+            FirstSignal first = new FirstSignal(invocation);
+            return mono.doOnEach(signal -> first.observe(signal.getType()))
+                .doOnCancel(() -> first.observe(SignalType.CANCEL));
+        });
+    }
+
+    @Override
+    public <T> Flux<T> interceptFlux(RepositoryInvocation invocation, Flux<T> flux) {
+        return Flux.defer(() -> {
+            FirstSignal first = new FirstSignal(invocation);
+            return flux.doOnEach(signal -> first.observe(signal.getType()))
+                .doOnCancel(() -> first.observe(SignalType.CANCEL));
+        });
+    }
+
+    /**
+     * The {@code limit} shapes with the highest maximum latency.
+     */
+    public List<QueryShape> slowest(int limit) {
+        return shapes.entrySet().stream()
+            .map(entry -> entry.getValue().snapshot(entry.getKey()))
+            .sorted(Comparator.comparingDouble(QueryShape::getMaxMillis).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+    @Override
+    public void destroy() {
+        logger.dispose();
+    }
+
+    private void observe(RepositoryInvocation invocation, SignalType signal, long elapsed) {
+        String shape = invocation.getRepository() + '.' + invocation.getMethod();
+        boolean slow = elapsed >= slowThresholdNanos;
+        shapes.computeIfAbsent(shape, key -> new Stats(invocation.getStore())).record(elapsed, slow);
+        if (slow || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            if (pending.offer(new Observation(shape, invocation, signal, elapsed, slow))) {
+                drainLater();
+            } else {
+                dropped.increment();
+            }
+        }
+    }
+
+    private void drainLater() {
+        if (draining.compareAndSet(false, true)) {
+            logger.schedule(this::drain);
+        }
+    }
+
+    private void drain() {
+        Observation observation;
+        while ((observation = pending.poll()) != null) {
+            observation.log();
+        }
+        draining.set(false);
+        if (!pending.isEmpty()) {
+            drainLater();
+        }
+    }
+
+    /**
+     * Observes one subscription once, at its first signal.
+     */
+    private final class FirstSignal {
+        private final RepositoryInvocation invocation;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean observed = new AtomicBoolean();
+
+        private FirstSignal(RepositoryInvocation invocation) {
+            this.invocation = invocation;
+        }
+
+        private void observe(SignalType signal) {
+            if (observed.compareAndSet(false, true)) {
+                QueryObservationInterceptor.this.observe(invocation, signal, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class Stats {
+        private final RepositoryStore store;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Stats(RepositoryStore store) {
+            this.store = store;
+        }
+
+        private void record(long nanos, boolean slow) {
+            calls.increment();
+            totalNanos.add(nanos);
+            if (slow) {
+                slowCalls.increment();
+            }
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private QueryShape snapshot(String shape) {
+            long count = calls.sum();
+            return new QueryShape(shape, store.tag(), count, slowCalls.sum(),
+                count == 0 ? 0 : millis(totalNanos.sum() / count), millis(maxNanos.get()));
+        }
+    }
+
+    private static final class Observation {
+        private final String shape;
+        private final RepositoryInvocation invocation;
+        private final SignalType signal;
+        private final long elapsedNanos;
+        private final boolean slow;
+
+        private Observation(String shape, RepositoryInvocation invocation, SignalType signal, long elapsedNanos,
+                boolean slow) {
+            this.shape = shape;
+            this.invocation = invocation;
+            this.signal = signal;
+            this.elapsedNanos = elapsedNanos;
+            this.slow = slow;
+        }
+
+        private void log() {
+            String format = "query shape={} store={} elapsed_ms={} outcome={} reason={} args={}";
+            Object[] values = { shape, invocation.getStore().tag(), millis(elapsedNanos), outcome(signal),
+                slow ? "slow" : "sampled", describe(invocation.getArguments()) };
+            if (slow) {
+                log.warn(format, values);
+            } else {
+                log.info(format, values);
+            }
+        }
+    }
+
+    /**
+     * Numbers, booleans, enums and dates as they are, anything else by
+     * type only.
+     */
+    static String describe(Object[] arguments) {
+        if (arguments == null || arguments.length == 0) {
+            return "[]";
+        }
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Object argument : arguments) {
+            if (argument == null || argument instanceof Number || argument instanceof Boolean
+                    || argument instanceof Enum || argument instanceof Temporal) {
+                joiner.add(String.valueOf(argument));
+            } else if (argument instanceof Collection) {
+                joiner.add(argument.getClass().getSimpleName() + '(' + ((Collection<?>) argument).size() + ')');
+            } else {
+                joiner.add(argument.getClass().getSimpleName());
+            }
+        }
+        return joiner.toString();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static String outcome(SignalType signal) {
+        switch (signal) {
+            case ON_NEXT:
+            case ON_COMPLETE:
+                return "success";
+            case ON_ERROR:
+                return "error";
+            default:
+                return "cancelled";
+        }
+    }
+}
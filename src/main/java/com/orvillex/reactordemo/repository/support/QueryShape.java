@@ -0,0 +1,17 @@
+package com.orvillex.reactordemo.repository.support;
+
+import lombok.Value;
+
+/**
+ * Latency of one query shape, a repository method, as reported by
+ * {@link QueryObservationInterceptor}.
+ */
+@Value
+public class QueryShape {
+    String shape;
+    String store;
+    long calls;
+    long slowCalls;
+    double meanMillis;
+    double maxMillis;
+}
@@ -0,0 +1,16 @@
+package com.orvillex.reactordemo.repository.support;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorates the {@link Mono} or {@link Flux} returned by a repository method.
+ * Every bean of this type is applied to all application repositories by
+ * {@link RepositoryInterceptorPostProcessor}, outermost first in
+ * {@link org.springframework.core.annotation.Order} order.
+ */
+public interface ReactiveRepositoryInterceptor {
+    <T> Mono<T> interceptMono(RepositoryInvocation invocation, Mono<T> mono);
+
+    <T> Flux<T> interceptFlux(RepositoryInvocation invocation, Flux<T> flux);
+}
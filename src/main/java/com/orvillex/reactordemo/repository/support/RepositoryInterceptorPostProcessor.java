@@ -0,0 +1,116 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Wraps the application's Spring Data repositories, and the hand-written
+ * {@code @Repository} classes next to them, in a proxy that passes every
+ * returned {@link Mono}/{@link Flux} through the registered
+ * {@link ReactiveRepositoryInterceptor}s.
+ */
+public class RepositoryInterceptorPostProcessor implements BeanPostProcessor {
+    private static final String REPOSITORY_PACKAGE = "com.orvillex.reactordemo.repository.";
+
+    private final ObjectProvider<ReactiveRepositoryInterceptor> interceptors;
+
+    public RepositoryInterceptorPostProcessor(ObjectProvider<ReactiveRepositoryInterceptor> interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> repositoryInterface = repositoryInterface(bean);
+        Class<?> repositoryClass = repositoryInterface == null ? repositoryClass(bean) : null;
+        if (repositoryInterface == null && repositoryClass == null) {
+            return bean;
+        }
+        List<ReactiveRepositoryInterceptor> ordered = interceptors.orderedStream().collect(Collectors.toList());
+        if (ordered.isEmpty()) {
+            return bean;
+        }
+        return repositoryInterface != null ? proxy(bean, repositoryInterface, ordered)
+            : proxyClass(bean, repositoryClass, ordered);
+    }
+
+    public static Object proxy(Object repository, Class<?> repositoryInterface, List<ReactiveRepositoryInterceptor> interceptors) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTarget(repository);
+        factory.setInterfaces(repositoryInterface);
+        factory.addAdvice(new Advice(repositoryInterface, interceptors));
+        return factory.getProxy(repositoryInterface.getClassLoader());
+    }
+
+    public static Object proxyClass(Object repository, Class<?> repositoryClass, List<ReactiveRepositoryInterceptor> interceptors) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTarget(repository);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new Advice(repositoryClass, interceptors));
+        return factory.getProxy(repositoryClass.getClassLoader());
+    }
+
+    private static Class<?> repositoryClass(Object bean) {
+        Class<?> type = ClassUtils.getUserClass(bean);
+        if (type.getName().startsWith(REPOSITORY_PACKAGE)
+            && AnnotationUtils.findAnnotation(type, org.springframework.stereotype.Repository.class) != null) {
+            return type;
+        }
+        return null;
+    }
+
+    private static Class<?> repositoryInterface(Object bean) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(bean.getClass())) {
+            if (Repository.class.isAssignableFrom(type) && type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static final class Advice implements MethodInterceptor {
+        private final Class<?> repositoryInterface;
+        private final List<ReactiveRepositoryInterceptor> innermostFirst;
+
+        private Advice(Class<?> repositoryInterface, List<ReactiveRepositoryInterceptor> outermostFirst) {
+            this.repositoryInterface = repositoryInterface;
+            this.innermostFirst = new ArrayList<>(outermostFirst);
+            Collections.reverse(this.innermostFirst);
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            if (!(result instanceof Mono) && !(result instanceof Flux)) {
+                return result;
+            }
+            RepositoryInvocation call = RepositoryInvocation.of(repositoryInterface, invocation.getMethod(),
+                invocation.getArguments());
+            if (result instanceof Mono) {
+                Mono<?> mono = (Mono<?>) result;
+                for (ReactiveRepositoryInterceptor interceptor : innermostFirst) {
+                    mono = interceptor.interceptMono(call, mono);
+                }
+                return mono;
+            }
+            Flux<?> flux = (Flux<?>) result;
+            for (ReactiveRepositoryInterceptor interceptor : innermostFirst) {
+                flux = interceptor.interceptFlux(call, flux);
+            }
+            return flux;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.lang.reflect.Method;
+
+import lombok.Data;
+
+/**
+ * Identifies a repository method call for the interceptors wrapped around
+ * the application's repositories.
+ */
+@Data
+public class RepositoryInvocation {
+    private final String repository;
+    private final String method;
+    private final RepositoryStore store;
+    private final Object[] arguments;
+
+    public static RepositoryInvocation of(Class<?> repositoryInterface, Method method, Object[] arguments) {
+        return new RepositoryInvocation(repositoryInterface.getSimpleName(), method.getName(),
+            RepositoryStore.of(repositoryInterface), arguments);
+    }
+
+    /**
+     * Reads never change state and can safely be repeated.
+     */
+    public boolean isRead() {
+        return method.startsWith("find") || method.startsWith("count") || method.startsWith("exists");
+    }
+}
@@ -0,0 +1,88 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Times every repository call as {@code repository.invocations}, tagged with
+ * repository, method, store ({@code r2dbc} or {@code mongo}) and outcome.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RepositoryMetricsInterceptor implements ReactiveRepositoryInterceptor {
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public <T> Mono<T> interceptMono(RepositoryInvocation invocation, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = registry.config().clock().monotonicTime();
+            return mono.doOnEach(signal -> recordTerminal(invocation, signal, start))
+                .doOnCancel(() -> record(invocation, SignalType.CANCEL, start));
+        });
+    }
+
+    @Override
+    public <T> Flux<T> interceptFlux(RepositoryInvocation invocation, Flux<T> flux) {
+        return Flux.defer(() -> {
+            long start = registry.config().clock().monotonicTime();
+            return flux.doOnEach(signal -> recordTerminal(invocation, signal, start))
+                .doOnCancel(() -> record(invocation, SignalType.CANCEL, start));
+        });
+    }
+
+    /**
+     * Records before the terminal signal is passed on, so the timer is
+     * already updated when the caller sees the result, whatever thread
+     * delivered it.
+     */
+    private void recordTerminal(RepositoryInvocation invocation, Signal<?> signal, long start) {
+        if (signal.isOnComplete() || signal.isOnError()) {
+            record(invocation, signal.getType(), start);
+        }
+    }
+
+    private void record(RepositoryInvocation invocation, SignalType signal, long start) {
+        long elapsed = registry.config().clock().monotonicTime() - start;
+        timer(invocation, outcome(signal)).record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(RepositoryInvocation invocation, String outcome) {
+        String key = invocation.getRepository() + '.' + invocation.getMethod() + '.' + outcome;
+        return timers.computeIfAbsent(key, k -> Timer.builder("repository.invocations")
+            .description("Repository method latency")
+            .tag("repository", invocation.getRepository())
+            .tag("method", invocation.getMethod())
+            .tag("store", invocation.getStore().tag())
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry));
+    }
+
+    private static String outcome(SignalType signal) {
+        switch (signal) {
+            case ON_COMPLETE:
+                return "success";
+            case ON_ERROR:
+                return "error";
+            default:
+                return "cancelled";
+        }
+    }
+}
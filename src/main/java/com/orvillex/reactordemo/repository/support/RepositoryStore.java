@@ -0,0 +1,20 @@
+package com.orvillex.reactordemo.repository.support;
+
+public enum RepositoryStore {
+    R2DBC("r2dbc"),
+    MONGO("mongo");
+
+    private final String tag;
+
+    RepositoryStore(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public static RepositoryStore of(Class<?> repositoryInterface) {
+        return repositoryInterface.getPackage().getName().endsWith(".mongodb") ? MONGO : R2DBC;
+    }
+}
@@ -0,0 +1,181 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.orvillex.reactordemo.config.ResilienceProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+/**
+ * Per-method timeouts, retries of reads with jittered exponential backoff,
+ * a {@link CircuitBreaker} per store and, for the configured methods,
+ * hedged reads: when the first call has not answered within the recent
+ * latency percentile a second one is sent and the first answer wins.
+ * Retries and hedges each pass through the breaker. For a {@link Flux} the
+ * timeout covers the first element only, so slow consumers of a stream are
+ * not cut off, and it is only retried while it has not emitted anything.
+ */
+public class ResilienceInterceptor implements ReactiveRepositoryInterceptor {
+    private final ResilienceProperties properties;
+    private final MeterRegistry registry;
+    private final Map<RepositoryStore, CircuitBreaker> breakers = new EnumMap<>(RepositoryStore.class);
+    private final Map<String, Hedged> hedged = new ConcurrentHashMap<>();
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+
+    public ResilienceInterceptor(ResilienceProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        ResilienceProperties.Breaker breaker = properties.getCircuitBreaker();
+        for (RepositoryStore store : RepositoryStore.values()) {
+            CircuitBreaker circuitBreaker = new CircuitBreaker(store.tag(), breaker.getFailureRateThreshold(),
+                breaker.getSlidingWindow(), breaker.getMinimumCalls(), breaker.getOpenDuration(), breaker.getHalfOpenCalls());
+            breakers.put(store, circuitBreaker);
+            Gauge.builder("repository.circuit.state", circuitBreaker, b -> b.getState().getCode())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half open")
+                .tag("store", store.tag())
+                .register(registry);
+            FunctionCounter.builder("repository.circuit.rejected", circuitBreaker, CircuitBreaker::getRejected)
+                .description("Calls rejected by an open circuit breaker")
+                .tag("store", store.tag())
+                .register(registry);
+        }
+    }
+
+    public CircuitBreaker breaker(RepositoryStore store) {
+        return breakers.get(store);
+    }
+
+    @Override
+    public <T> Mono<T> interceptMono(RepositoryInvocation invocation, Mono<T> mono) {
+        Mono<T> attempt = breakers.get(invocation.getStore()).execute(mono.timeout(timeout(invocation)));
+        if (properties.getHedge().isEnabled() && invocation.isRead()
+                && properties.getHedge().getMethods().contains(invocation.getMethod())) {
+            attempt = hedged(invocation).execute(attempt);
+        }
+        return invocation.isRead() ? attempt.retryWhen(retry(invocation)) : attempt;
+    }
+
+    @Override
+    public <T> Flux<T> interceptFlux(RepositoryInvocation invocation, Flux<T> flux) {
+        Flux<T> attempt = breakers.get(invocation.getStore())
+            .execute(flux.timeout(Mono.delay(timeout(invocation)), item -> Mono.never()));
+        if (!invocation.isRead()) {
+            return attempt;
+        }
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return attempt.doOnNext(item -> emitted.set(true))
+                .retryWhen(retry(invocation).filter(e -> !emitted.get() && retryable(e)));
+        });
+    }
+
+    private Duration timeout(RepositoryInvocation invocation) {
+        return properties.getTimeouts().getOrDefault(invocation.getRepository() + '.' + invocation.getMethod(),
+            properties.getTimeout());
+    }
+
+    private RetryBackoffSpec retry(RepositoryInvocation invocation) {
+        ResilienceProperties.Retry retry = properties.getRetry();
+        Counter counter = retries.computeIfAbsent(invocation.getRepository() + '.' + invocation.getMethod(),
+            k -> Counter.builder("repository.retries")
+                .description("Repository reads retried after a failure")
+                .tag("repository", invocation.getRepository())
+                .tag("method", invocation.getMethod())
+                .register(registry));
+        return Retry.backoff(retry.getMaxRetries(), retry.getMinBackoff())
+            .maxBackoff(retry.getMaxBackoff())
+            .jitter(retry.getJitter())
+            .filter(ResilienceInterceptor::retryable)
+            .doBeforeRetry(signal -> counter.increment())
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private Hedged hedged(RepositoryInvocation invocation) {
+        return hedged.computeIfAbsent(invocation.getRepository() + '.' + invocation.getMethod(),
+            k -> new Hedged(invocation));
+    }
+
+    /**
+     * Overload and open breakers are not transient; retrying them would
+     * only add load.
+     */
+    private static boolean retryable(Throwable e) {
+        return !(e instanceof CircuitBreakerOpenException) && !(e instanceof BulkheadFullException);
+    }
+
+    private final class Hedged {
+        private final LatencyWindow latencies = new LatencyWindow(properties.getHedge().getWindow());
+        private final Counter sent;
+        private final Counter primaryWins;
+        private final Counter hedgeWins;
+
+        private Hedged(RepositoryInvocation invocation) {
+            this.sent = counter("repository.hedge.requests", "Hedged requests sent", invocation, null);
+            this.primaryWins = counter("repository.hedge.wins", "Hedged calls by the request that answered first",
+                invocation, "primary");
+            this.hedgeWins = counter("repository.hedge.wins", "Hedged calls by the request that answered first",
+                invocation, "hedge");
+        }
+
+        private <T> Mono<T> execute(Mono<T> attempt) {
+            return Mono.defer(() -> {
+                ResilienceProperties.Hedge hedge = properties.getHedge();
+                long start = System.nanoTime();
+                Mono<T> primary = attempt.doFinally(signal -> {
+                    if (signal != SignalType.ON_ERROR) {
+                        latencies.record(System.nanoTime() - start);
+                    }
+                });
+                if (latencies.count() < hedge.getMinSamples()) {
+                    return primary;
+                }
+                Duration delay = Duration.ofNanos(Math.max(latencies.percentile(hedge.getPercentile()),
+                    hedge.getMinDelay().toNanos()));
+                Mono<Answer<T>> first = primary.map(v -> new Answer<>(v, false))
+                    .defaultIfEmpty(new Answer<>(null, false));
+                Mono<Answer<T>> second = attempt.map(v -> new Answer<>(v, true))
+                    .defaultIfEmpty(new Answer<>(null, true))
+                    .doOnSubscribe(s -> sent.increment())
+                    .delaySubscription(delay);
+                return Mono.firstWithSignal(first, second)
+                    .flatMap(answer -> {
+                        (answer.hedge ? hedgeWins : primaryWins).increment();
+                        return Mono.justOrEmpty(answer.value);
+                    });
+            });
+        }
+
+        private Counter counter(String name, String description, RepositoryInvocation invocation, String winner) {
+            Counter.Builder builder = Counter.builder(name)
+                .description(description)
+                .tag("repository", invocation.getRepository())
+                .tag("method", invocation.getMethod());
+            if (winner != null) {
+                builder.tag("winner", winner);
+            }
+            return builder.register(registry);
+        }
+    }
+
+    private static final class Answer<T> {
+        private final T value;
+        private final boolean hedge;
+
+        private Answer(T value, boolean hedge) {
+            this.value = value;
+            this.hedge = hedge;
+        }
+    }
+}
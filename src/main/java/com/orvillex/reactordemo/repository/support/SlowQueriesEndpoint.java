@@ -0,0 +1,32 @@
+package com.orvillex.reactordemo.repository.support;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/slowqueries}: the slowest query shapes seen by
+ * {@link QueryObservationInterceptor}; a DELETE starts over.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+    private final QueryObservationInterceptor interceptor;
+    private final int top;
+
+    public SlowQueriesEndpoint(QueryObservationInterceptor interceptor, int top) {
+        this.interceptor = interceptor;
+        this.top = top;
+    }
+
+    @ReadOperation
+    public List<QueryShape> slowest() {
+        return interceptor.slowest(top);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        interceptor.reset();
+    }
+}
@@ -0,0 +1,18 @@
+package com.orvillex.reactordemo.rest;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types of the Smile binary JSON encoding, as understood by
+ * Spring's Jackson Smile codecs.
+ */
+public final class BinaryMediaTypes {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
+
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+    public static final MediaType APPLICATION_STREAM_SMILE = MediaType.valueOf(APPLICATION_STREAM_SMILE_VALUE);
+
+    private BinaryMediaTypes() {
+    }
+}
@@ -0,0 +1,65 @@
+package com.orvillex.reactordemo.rest;
+
+import java.util.List;
+
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.service.BulkJob;
+import com.orvillex.reactordemo.service.BulkJobService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/bulk")
+public class BulkController {
+    private final BulkJobService jobs;
+
+    @PostMapping("/ingredient/delete")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BulkJob deleteIngredients(@RequestParam("type") Type type) {
+        return jobs.deleteIngredientsByType(type);
+    }
+
+    @PostMapping("/taco/delete")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BulkJob deleteTacos(@RequestParam("name") String name) {
+        return jobs.deleteTacosByName(name);
+    }
+
+    @GetMapping("/jobs")
+    public List<BulkJob> getAll() {
+        return jobs.findAll();
+    }
+
+    @GetMapping("/jobs/{id}")
+    public BulkJob find(@PathVariable("id") String id) {
+        return jobs.find(id).orElseThrow(() -> notFound(id));
+    }
+
+    @GetMapping(path = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<BulkJob> events(@PathVariable("id") String id) {
+        return jobs.events(id).orElseThrow(() -> notFound(id));
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    public BulkJob cancel(@PathVariable("id") String id) {
+        return jobs.cancel(id).orElseThrow(() -> notFound(id));
+    }
+
+    private static ResponseStatusException notFound(String id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "No bulk job " + id);
+    }
+}
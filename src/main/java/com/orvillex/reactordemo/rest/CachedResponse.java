@@ -0,0 +1,55 @@
+package com.orvillex.reactordemo.rest;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import lombok.Getter;
+
+/**
+ * An already encoded response body, its media type and its strong ETag.
+ */
+@Getter
+public class CachedResponse {
+    private final byte[] body;
+    private final MediaType contentType;
+    private final String etag;
+
+    CachedResponse(byte[] body, MediaType contentType, String etag) {
+        this.body = body;
+        this.contentType = contentType;
+        this.etag = etag;
+    }
+
+    /**
+     * @return 304 when {@code ifNoneMatch} lists the ETag, otherwise the
+     *         cached bytes wrapped (not copied) in a buffer
+     */
+    public ResponseEntity<DataBuffer> toResponse(String ifNoneMatch) {
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .varyBy(HttpHeaders.ACCEPT)
+            .contentType(contentType)
+            .contentLength(body.length)
+            .body(DefaultDataBufferFactory.sharedInstance.wrap(body));
+    }
+
+    private boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,43 +1,122 @@
 package com.orvillex.reactordemo.rest;
 
+import java.util.List;
+
 import com.orvillex.reactordemo.domain.Ingredient;
-import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.service.CacheStats;
+import com.orvillex.reactordemo.service.IngredientService;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
-import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-@RequiredArgsConstructor
 @RestController
 @RequestMapping(path = "/ingredient")
 public class IngredientController {
-    private final IngredientRepository repository;
+    private final IngredientService service;
+    private final SerializedResponseCache responseCache;
+
+    @Value("${pagination.max-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${streaming.prefetch:64}")
+    private int streamPrefetch = 64;
+
+    public IngredientController(IngredientService service, SerializedResponseCache responseCache) {
+        this.service = service;
+        this.responseCache = responseCache;
+        service.onWrite(responseCache::invalidateAll);
+    }
 
     @GetMapping
-    public Flux<Ingredient> getAll() {
-        return repository.findAll();
+    public Mono<ResponseEntity<DataBuffer>> getAll(@RequestHeader HttpHeaders headers) {
+        return responseCache.get("all", headers.getAccept(), service.findAll().collectList())
+            .map(response -> response.toResponse(headers.getFirst(HttpHeaders.IF_NONE_MATCH)));
+    }
+
+    @GetMapping(params = "type")
+    public Mono<ResponseEntity<DataBuffer>> getByType(@RequestParam("type") Type type, @RequestHeader HttpHeaders headers) {
+        return responseCache.get("type:" + type, headers.getAccept(), service.findByType(type).collectList())
+            .map(response -> response.toResponse(headers.getFirst(HttpHeaders.IF_NONE_MATCH)));
+    }
+
+    @GetMapping(produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
+        BinaryMediaTypes.APPLICATION_STREAM_SMILE_VALUE })
+    public Flux<Ingredient> stream() {
+        return service.streamAll().limitRate(streamPrefetch);
+    }
+
+    @GetMapping("/page")
+    public Mono<KeysetPage<Ingredient>> getPage(@RequestParam("type") Type type,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "${pagination.default-size:20}") int size) {
+        int limit = Math.min(Math.max(size, 1), maxPageSize);
+        Flux<Ingredient> ingredients;
+        if (cursor == null) {
+            ingredients = service.findByType(type, PageRequest.of(0, limit + 1, Sort.by("id")));
+        } else {
+            List<String> keys = KeysetCursor.decode(cursor, 2);
+            if (keys.get(0) == null) {
+                throw KeysetCursor.invalid();
+            }
+            ingredients = service.findByTypeAfter(type, keys.get(0), parseId(keys.get(1)), limit + 1);
+        }
+        return ingredients.collectList()
+            .map(list -> KeysetPage.of(list, limit, i -> KeysetCursor.encode(i.getName(), i.getId())));
+    }
+
+    @GetMapping("/search")
+    public Flux<Ingredient> search(@RequestParam("q") String query,
+            @RequestParam(name = "type", required = false) Type type,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return service.search(query, type, Math.min(Math.max(limit, 1), maxPageSize));
+    }
+
+    @GetMapping("/cache/stats")
+    public CacheStats cacheStats() {
+        return service.cacheStats();
     }
 
     @GetMapping("/{id}")
     public Mono<Ingredient> find(@PathVariable("id") Long id) {
-        return repository.findById(id);
+        return service.findById(id);
     }
 
     @PostMapping
     public Mono<Ingredient> save(@RequestBody Ingredient data) {
-        return repository.save(data);
+        return service.save(data)
+            .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
     }
 
-    @DeleteMapping
+    @DeleteMapping("/{id}")
     public Mono<Void> delete(@PathVariable("id") Long id) {
-        return repository.deleteById(id);
+        return service.deleteById(id);
+    }
+
+    private static Long parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw KeysetCursor.invalid();
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.orvillex.reactordemo.rest;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.service.IngredientService;
+
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The ingredient operations of {@link IngredientController} over RSocket.
+ * Lookups go through the same cache and batching loader as HTTP.
+ */
+@Controller
+@RequiredArgsConstructor
+@MessageMapping("ingredient")
+public class IngredientRSocketController {
+    private final IngredientService service;
+
+    @MessageMapping("get")
+    public Mono<Ingredient> get(Long id) {
+        return service.findById(id);
+    }
+
+    @MessageMapping("all")
+    public Flux<Ingredient> getAll() {
+        return service.streamAll();
+    }
+
+    @MessageMapping("by-type")
+    public Flux<Ingredient> getByType(Type type) {
+        return service.findByType(type);
+    }
+
+    @MessageMapping("save")
+    public Mono<Ingredient> save(Ingredient ingredient) {
+        return service.save(ingredient);
+    }
+
+    /**
+     * Answers a stream of ids with the ingredients, in order; ids that do
+     * not exist are skipped. Concurrent lookups share IN queries.
+     */
+    @MessageMapping("lookup")
+    public Flux<Ingredient> lookup(Flux<Long> ids) {
+        return ids.flatMapSequential(service::findById);
+    }
+}
@@ -0,0 +1,78 @@
+package com.orvillex.reactordemo.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.orvillex.reactordemo.service.TacoIngredientService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Which tacos use which ingredients, answered from
+ * {@link com.orvillex.reactordemo.service.TacoIngredientIndex}.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/ingredient")
+public class IngredientTacoController {
+    private final TacoIngredientService service;
+
+    @Value("${pagination.max-size:100}")
+    private int maxPageSize = 100;
+
+    @GetMapping("/{id}/tacos")
+    public Mono<KeysetPage<Long>> getTacos(@PathVariable("id") Long id,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "${pagination.default-size:20}") int size) {
+        return page(new long[] { id }, cursor, size);
+    }
+
+    @GetMapping("/{id}/tacos/{taco}")
+    public Mono<Boolean> usedBy(@PathVariable("id") Long id, @PathVariable("taco") Long taco) {
+        return service.usesIngredient(taco, id);
+    }
+
+    /**
+     * Tacos using all of the ingredients, e.g. {@code ?all=1,3}.
+     */
+    @GetMapping("/tacos")
+    public Mono<KeysetPage<Long>> getTacosWithAll(@RequestParam("all") long[] ids,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "${pagination.default-size:20}") int size) {
+        return page(ids, cursor, size);
+    }
+
+    @GetMapping("/tacos/count")
+    public Mono<Integer> countTacosWithAll(@RequestParam("all") long[] ids) {
+        return service.countTacosWithAll(ids);
+    }
+
+    private Mono<KeysetPage<Long>> page(long[] ids, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), maxPageSize);
+        long after = cursor == null ? Long.MIN_VALUE : parseTaco(KeysetCursor.decode(cursor, 1).get(0));
+        return service.findTacosWithAll(ids, after, limit + 1)
+            .map(tacos -> {
+                List<Long> fetched = new ArrayList<>(tacos.length);
+                for (long taco : tacos) {
+                    fetched.add(taco);
+                }
+                return KeysetPage.of(fetched, limit, taco -> KeysetCursor.encode(taco));
+            });
+    }
+
+    private static long parseTaco(String taco) {
+        try {
+            return Long.parseLong(taco);
+        } catch (NumberFormatException e) {
+            throw KeysetCursor.invalid();
+        }
+    }
+}
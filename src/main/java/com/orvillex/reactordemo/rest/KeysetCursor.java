@@ -0,0 +1,59 @@
+package com.orvillex.reactordemo.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Opaque continuation token holding the sort key of the last row of a page.
+ * Each key carries a presence flag so that a {@code null} key decodes back to {@code null}.
+ */
+public final class KeysetCursor {
+    private KeysetCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(keys.length);
+            for (Object key : keys) {
+                out.writeBoolean(key != null);
+                if (key != null) {
+                    out.writeUTF(key.toString());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public static List<String> decode(String token, int expectedKeys) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            int count = in.readUnsignedByte();
+            if (count != expectedKeys) {
+                throw invalid();
+            }
+            List<String> keys = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                keys.add(in.readBoolean() ? in.readUTF() : null);
+            }
+            return keys;
+        } catch (IOException | IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    public static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+}
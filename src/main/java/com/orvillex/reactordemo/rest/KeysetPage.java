@@ -0,0 +1,26 @@
+package com.orvillex.reactordemo.rest;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private final List<T> items;
+    private final String next;
+
+    /**
+     * Builds a page from a query that fetched one row more than {@code size};
+     * the extra row only signals that a next page exists.
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int size, Function<T, String> cursor) {
+        if (fetched.size() <= size) {
+            return new KeysetPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new KeysetPage<>(items, cursor.apply(items.get(size - 1)));
+    }
+}
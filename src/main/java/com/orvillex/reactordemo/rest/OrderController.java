@@ -0,0 +1,66 @@
+package com.orvillex.reactordemo.rest;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import com.orvillex.reactordemo.domain.Order;
+import com.orvillex.reactordemo.service.OrderService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/order")
+public class OrderController {
+    private final OrderService service;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Order> place(@RequestBody Order order) {
+        String invalid = validate(order);
+        if (invalid != null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, invalid));
+        }
+        return service.place(order);
+    }
+
+    /**
+     * Checks the order against the {@code Taco_Order} columns, since orders
+     * are written in shared batches and a rejected row costs a retry.
+     *
+     * @return the problem, or {@code null} when the order is valid
+     */
+    private static String validate(Order order) {
+        if (order.getTacos() == null || order.getTacos().isEmpty() || order.getTacos().contains(null)) {
+            return "tacos are required";
+        }
+        return Stream.of(
+                checkLength("deliveryName", order.getDeliveryName(), 50),
+                checkLength("deliveryStreet", order.getDeliveryStreet(), 50),
+                checkLength("deliveryCity", order.getDeliveryCity(), 50),
+                checkLength("deliveryState", order.getDeliveryState(), 2),
+                checkLength("deliveryZip", order.getDeliveryZip(), 10),
+                checkLength("ccNumber", order.getCcNumber(), 16),
+                checkLength("ccExpiration", order.getCcExpiration(), 5),
+                checkLength("ccCVV", order.getCcCVV(), 3))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static String checkLength(String field, String value, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return field + " is required";
+        }
+        return value.length() > maxLength ? field + " must be at most " + maxLength + " characters" : null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.orvillex.reactordemo.rest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps JSON (or Smile, when the client accepts it) responses of read-mostly
+ * endpoints encoded once, together with a content-derived ETag, so repeated
+ * reads neither query nor serialize.
+ * Entries expire after {@code ttl}, like the {@code IngredientCache} they are
+ * built from, so changes made outside this process show up eventually.
+ * {@link #invalidateAll()} drops them at once; loads that raced with an
+ * invalidation are served but not cached.
+ */
+@Component
+public class SerializedResponseCache {
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long generation;
+
+    @Autowired
+    public SerializedResponseCache(ObjectMapper jsonMapper, Jackson2SmileEncoder smileEncoder,
+            @Value("${ingredient.cache.ttl:10m}") Duration ttl) {
+        this(jsonMapper, smileEncoder, ttl, System::nanoTime);
+    }
+
+    SerializedResponseCache(ObjectMapper jsonMapper, Jackson2SmileEncoder smileEncoder, Duration ttl, LongSupplier nanoTime) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = smileEncoder.getObjectMapper();
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @param accept the request's acceptable media types; Smile is used when
+     *               listed, JSON otherwise
+     */
+    public Mono<CachedResponse> get(String name, List<MediaType> accept, Mono<?> source) {
+        boolean smile = accept.stream().anyMatch(BinaryMediaTypes.APPLICATION_SMILE::equalsTypeAndSubtype);
+        MediaType contentType = smile ? BinaryMediaTypes.APPLICATION_SMILE : MediaType.APPLICATION_JSON;
+        String key = contentType + " " + name;
+        return Mono.defer(() -> {
+            Entry cached = entries.get(key);
+            if (cached != null && nanoTime.getAsLong() - cached.expiresAt <= 0) {
+                return Mono.just(cached.response);
+            }
+            long expected = generation;
+            return source.map(value -> encode(value, smile ? smileMapper : jsonMapper, contentType))
+                .doOnNext(response -> {
+                    synchronized (this) {
+                        if (generation == expected) {
+                            entries.put(key, new Entry(response, nanoTime.getAsLong() + ttlNanos));
+                        }
+                    }
+                });
+        });
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    private static CachedResponse encode(Object value, ObjectMapper mapper, MediaType contentType) {
+        try {
+            byte[] body = mapper.writeValueAsBytes(value);
+            return new CachedResponse(body, contentType, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode response", e);
+        }
+    }
+
+    private static final class Entry {
+        private final CachedResponse response;
+        private final long expiresAt;
+
+        private Entry(CachedResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.orvillex.reactordemo.rest;
+
+import java.nio.file.NoSuchFileException;
+
+import com.orvillex.reactordemo.service.SnapshotProgress;
+import com.orvillex.reactordemo.service.SnapshotService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Snapshot export and import, streaming one progress event per block; the
+ * operation stops if the client goes away.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/snapshot")
+public class SnapshotController {
+    private final SnapshotService snapshots;
+
+    @PostMapping(path = "/{name}/export", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    public Flux<SnapshotProgress> export(@PathVariable("name") String name) {
+        return snapshots.export(name)
+            .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    @PostMapping(path = "/{name}/import", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    public Flux<SnapshotProgress> load(@PathVariable("name") String name) {
+        return snapshots.load(name)
+            .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()))
+            .onErrorMap(NoSuchFileException.class, e -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No snapshot " + name));
+    }
+}
@@ -0,0 +1,49 @@
+package com.orvillex.reactordemo.rest;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orvillex.reactordemo.enums.FeedOverflow;
+import com.orvillex.reactordemo.service.TacoChange;
+import com.orvillex.reactordemo.service.TacoFeed;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link TacoFeed} over WebSocket, one JSON text message per change.
+ */
+@Component
+@RequiredArgsConstructor
+public class TacoFeedWebSocketHandler implements WebSocketHandler {
+    private final TacoFeed feed;
+    private final ObjectMapper mapper;
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        String overflow = UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri()).build()
+            .getQueryParams().getFirst("overflow");
+        FeedOverflow mode;
+        try {
+            mode = overflow == null ? FeedOverflow.LATEST : FeedOverflow.valueOf(overflow.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return session.close(CloseStatus.POLICY_VIOLATION.withReason("overflow must be drop or latest"));
+        }
+        return session.send(feed.feed(mode).map(change -> session.textMessage(write(change))));
+    }
+
+    private String write(TacoChange change) {
+        try {
+            return mapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.orvillex.reactordemo.rest;
+
+import java.time.Duration;
+
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * The taco operations of {@link TacoRouteFunctionConfig} over RSocket, so a
+ * consumer can multiplex them on one connection. Streams are driven by the
+ * requester's {@code request(n)}.
+ */
+@Controller
+@MessageMapping("taco")
+public class TacoRSocketController {
+    @Autowired
+    private TacoRepository repository;
+
+    @Value("${taco.bulk.batch-size:500}")
+    private int bulkBatchSize = 500;
+
+    @Value("${taco.bulk.concurrency:2}")
+    private int bulkConcurrency = 2;
+
+    @Value("${taco.bulk.window:50ms}")
+    private Duration bulkWindow = Duration.ofMillis(50);
+
+    @MessageMapping("get")
+    public Mono<Taco> get(String id) {
+        return repository.findById(id);
+    }
+
+    @MessageMapping("all")
+    public Flux<Taco> getAll() {
+        return repository.findAll();
+    }
+
+    @MessageMapping("save")
+    public Mono<Taco> save(Taco taco) {
+        return repository.save(taco);
+    }
+
+    /**
+     * Saves tacos as they arrive, in batches closed by size or after
+     * {@code taco.bulk.window}, answering each with the saved taco in the
+     * same order; a requester may wait for an answer before sending more.
+     * {@code bufferTimeout} requests without bound, so tacos are only let in
+     * against permits, which come back as saved tacos are answered; this
+     * keeps the channel's {@code request(n)} and the pending batches bounded.
+     */
+    @MessageMapping("save-all")
+    public Flux<Taco> saveAll(Flux<Taco> tacos) {
+        return Flux.defer(() -> {
+            int maxPending = bulkBatchSize * bulkConcurrency;
+            Sinks.Many<Integer> returned = Sinks.many().unicast().onBackpressureBuffer();
+            Flux<Integer> permits = Flux.concat(Flux.range(0, maxPending), returned.asFlux());
+            return Flux.zip(tacos, permits, (taco, permit) -> taco)
+                .bufferTimeout(bulkBatchSize, bulkWindow)
+                .onBackpressureBuffer(maxPending, BufferOverflowStrategy.ERROR)
+                .flatMapSequential(repository::saveAll, bulkConcurrency)
+                .doOnNext(saved -> returned.tryEmitNext(1));
+        });
+    }
+}
@@ -1,29 +1,83 @@
 package com.orvillex.reactordemo.rest;
 
+import java.util.List;
+import java.util.Locale;
+
 import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.domain.TacoIngredients;
+import com.orvillex.reactordemo.enums.FeedOverflow;
 import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.service.PopularityWindow;
+import com.orvillex.reactordemo.service.TacoChange;
+import com.orvillex.reactordemo.service.TacoFeed;
+import com.orvillex.reactordemo.service.TacoIngredientService;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.server.RequestPredicate;
 import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Configuration
 public class TacoRouteFunctionConfig {
+    private static final Sort KEYSET_SORT = Sort.by("remark", "id");
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM,
+        BinaryMediaTypes.APPLICATION_STREAM_SMILE);
+
     @Autowired
     private TacoRepository repository;
-    
+
+    @Autowired
+    private TacoIngredientService tacoIngredients;
+
+    @Autowired
+    private TacoFeed feed;
+
+    @Value("${taco.bulk.batch-size:500}")
+    private int bulkBatchSize = 500;
+
+    @Value("${taco.bulk.concurrency:2}")
+    private int bulkConcurrency = 2;
+
+    @Value("${pagination.default-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${pagination.max-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${streaming.prefetch:64}")
+    private int streamPrefetch = 64;
+
     @Bean
     public RouterFunction<?> routerFunctions() {
-        return RouterFunctions.route(RequestPredicates.GET("/taco"), this::getAll).
-            andRoute(RequestPredicates.POST("/taco"), this::save);
+        RequestPredicate bulkContent = RequestPredicates.contentType(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON,
+            BinaryMediaTypes.APPLICATION_STREAM_SMILE, BinaryMediaTypes.APPLICATION_SMILE);
+        RequestPredicate streaming = request -> request.headers().accept().stream()
+            .anyMatch(m -> STREAMING_TYPES.stream().anyMatch(m::equalsTypeAndSubtype));
+        return RouterFunctions.route(RequestPredicates.GET("/taco").and(streaming), this::stream).
+            andRoute(RequestPredicates.GET("/taco"), this::getAll).
+            andRoute(RequestPredicates.GET("/taco/page"), this::getPage).
+            andRoute(RequestPredicates.GET("/taco/ingredients"), this::getWithIngredients).
+            andRoute(RequestPredicates.POST("/taco/ingredients"), this::saveWithIngredients).
+            andRoute(RequestPredicates.GET("/taco/popularity"), this::popularity).
+            andRoute(RequestPredicates.GET("/taco/feed"), this::feed).
+            andRoute(RequestPredicates.POST("/taco"), this::save).
+            andRoute(RequestPredicates.POST("/taco/bulk").and(bulkContent), this::saveAll);
     }
 
     public Mono<ServerResponse> getAll(ServerRequest request) {
@@ -31,10 +85,119 @@ public class TacoRouteFunctionConfig {
             .body(repository.findAll(), Taco.class);
     }
 
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        MediaType mediaType = request.headers().accept().stream()
+            .flatMap(m -> STREAMING_TYPES.stream().filter(m::equalsTypeAndSubtype))
+            .findFirst()
+            .orElse(MediaType.APPLICATION_NDJSON);
+        return ServerResponse.ok()
+            .contentType(mediaType)
+            .body(repository.findAll().limitRate(streamPrefetch), Taco.class);
+    }
+
+    public Mono<ServerResponse> getPage(ServerRequest request) {
+        String name = request.queryParam("name")
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "name is required"));
+        int size = pageSize(request);
+        Flux<Taco> tacos = request.queryParam("cursor")
+            .map(cursor -> {
+                List<String> keys = KeysetCursor.decode(cursor, 2);
+                if (keys.get(1) == null || !ObjectId.isValid(keys.get(1))) {
+                    throw KeysetCursor.invalid();
+                }
+                ObjectId after = new ObjectId(keys.get(1));
+                PageRequest pageable = PageRequest.of(0, size + 1, KEYSET_SORT);
+                // Null remarks sort first, so after the null group every non-null remark follows.
+                return keys.get(0) == null
+                    ? repository.findByNameAfterNullRemark(name, after, pageable)
+                    : repository.findByNameAfter(name, keys.get(0), after, pageable);
+            })
+            .orElseGet(() -> repository.findByNameOrderByRemark(name, PageRequest.of(0, size + 1, Sort.by("id"))));
+        Mono<KeysetPage<Taco>> page = tacos.collectList()
+            .map(list -> KeysetPage.of(list, size, t -> KeysetCursor.encode(t.getRemark(), t.getId())));
+        return ServerResponse.ok()
+            .body(page, KeysetPage.class);
+    }
+
+    public Mono<ServerResponse> getWithIngredients(ServerRequest request) {
+        Flux<TacoIngredients> tacos;
+        if (request.queryParam("size").isPresent() || request.queryParam("after").isPresent()) {
+            Long after;
+            try {
+                after = request.queryParam("after").map(Long::valueOf).orElse(Long.MIN_VALUE);
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "after must be a number");
+            }
+            tacos = tacoIngredients.findAfter(after, pageSize(request));
+        } else {
+            tacos = tacoIngredients.findAll();
+        }
+        MediaType mediaType = request.headers().accept().stream()
+            .flatMap(m -> STREAMING_TYPES.stream().filter(m::equalsTypeAndSubtype))
+            .findFirst()
+            .orElse(MediaType.APPLICATION_JSON);
+        return ServerResponse.ok()
+            .contentType(mediaType)
+            .body(tacos.limitRate(streamPrefetch), TacoIngredients.class);
+    }
+
+    public Mono<ServerResponse> saveWithIngredients(ServerRequest request) {
+        Mono<TacoIngredients> saved = request.bodyToMono(TacoIngredients.class)
+            .flatMap(tacoIngredients::save)
+            .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+        return ServerResponse.ok()
+            .body(saved, TacoIngredients.class);
+    }
+
+    public Mono<ServerResponse> popularity(ServerRequest request) {
+        return ServerResponse.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .body(tacoIngredients.popularity(), new ParameterizedTypeReference<List<PopularityWindow>>() {});
+    }
+
+    public Mono<ServerResponse> feed(ServerRequest request) {
+        FeedOverflow overflow;
+        try {
+            overflow = request.queryParam("overflow").map(o -> FeedOverflow.valueOf(o.toUpperCase(Locale.ROOT)))
+                .orElse(FeedOverflow.LATEST);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "overflow must be drop or latest");
+        }
+        MediaType mediaType = request.headers().accept().stream()
+            .flatMap(m -> STREAMING_TYPES.stream().filter(m::equalsTypeAndSubtype))
+            .findFirst()
+            .orElse(MediaType.TEXT_EVENT_STREAM);
+        return ServerResponse.ok()
+            .contentType(mediaType)
+            .body(feed.feed(overflow), TacoChange.class);
+    }
+
     public Mono<ServerResponse> save(ServerRequest request) {
-        Mono<Taco> taco = request.bodyToMono(Taco.class);
-        Mono<Taco> saved = repository.save(taco.block());
+        Mono<Taco> saved = request.bodyToMono(Taco.class)
+            .flatMap(repository::save);
         return ServerResponse.ok()
             .body(saved, Taco.class);
     }
+
+    public Mono<ServerResponse> saveAll(ServerRequest request) {
+        Flux<Taco> saved = request.bodyToFlux(Taco.class)
+            .buffer(bulkBatchSize)
+            .flatMapSequential(repository::saveAll, bulkConcurrency);
+        boolean smile = request.headers().contentType()
+            .filter(m -> m.getSubtype().endsWith(BinaryMediaTypes.APPLICATION_SMILE.getSubtype()))
+            .isPresent();
+        return ServerResponse.ok()
+            .contentType(smile ? BinaryMediaTypes.APPLICATION_STREAM_SMILE : MediaType.APPLICATION_NDJSON)
+            .body(saved, Taco.class);
+    }
+
+    private int pageSize(ServerRequest request) {
+        int size;
+        try {
+            size = request.queryParam("size").map(Integer::parseInt).orElse(defaultPageSize);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be a number");
+        }
+        return Math.min(Math.max(size, 1), maxPageSize);
+    }
 }
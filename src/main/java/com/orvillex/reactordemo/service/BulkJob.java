@@ -0,0 +1,26 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Instant;
+
+import com.orvillex.reactordemo.enums.JobStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Snapshot of a background bulk operation and its progress so far.
+ */
+@Data
+@AllArgsConstructor
+public class BulkJob {
+    private final String id;
+    private final String operation;
+    private final String target;
+    private final JobStatus status;
+    private final long deleted;
+    private final int chunks;
+    private final Instant submittedAt;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final String error;
+}
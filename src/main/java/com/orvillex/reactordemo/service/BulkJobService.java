@@ -0,0 +1,241 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.JobStatus;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Runs large deletes as background jobs instead of inside the request: each
+ * job deletes {@code chunkSize} rows per statement and pauses between
+ * chunks, so locks are held briefly and online traffic keeps its share of
+ * the connection pool. At most {@code maxConcurrent} jobs run at a time,
+ * the rest wait in submission order.
+ */
+@Service
+public class BulkJobService implements DisposableBean {
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED =
+        (signal, result) -> result == Sinks.EmitResult.FAIL_NON_SERIALIZED;
+
+    private final IngredientService ingredients;
+    private final TacoRepository tacos;
+    private final int chunkSize;
+    private final Duration pause;
+    private final int retained;
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private final Sinks.Many<Job> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable worker;
+
+    public BulkJobService(IngredientService ingredients, TacoRepository tacos,
+            @Value("${bulk.delete.chunk-size:500}") int chunkSize,
+            @Value("${bulk.delete.pause:100ms}") Duration pause,
+            @Value("${bulk.jobs.max-concurrent:1}") int maxConcurrent,
+            @Value("${bulk.jobs.retained:100}") int retained) {
+        this.ingredients = ingredients;
+        this.tacos = tacos;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.retained = retained;
+        this.worker = queue.asFlux()
+            .flatMap(this::run, maxConcurrent)
+            .subscribe();
+    }
+
+    public BulkJob deleteIngredientsByType(Type type) {
+        return submit("delete-ingredients", type.name(), limit -> ingredients.deleteChunkByType(type, limit));
+    }
+
+    public BulkJob deleteTacosByName(String name) {
+        return submit("delete-tacos", name, limit -> tacos.findIdsByName(name, PageRequest.of(0, limit))
+            .map(Taco::getId)
+            .collectList()
+            .flatMap(ids -> ids.isEmpty() ? Mono.just(0) : tacos.deleteByIdIn(ids).map(Long::intValue)));
+    }
+
+    /**
+     * Queues a job that applies {@code chunk} with the chunk size until a
+     * chunk deletes fewer rows than asked for.
+     */
+    public BulkJob submit(String operation, String target, IntFunction<Mono<Integer>> chunk) {
+        Job job = new Job(UUID.randomUUID().toString(), operation, target, chunk);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            evictFinished();
+        }
+        queue.emitNext(job, RETRY_NON_SERIALIZED);
+        return job.snapshot();
+    }
+
+    public Optional<BulkJob> find(String id) {
+        return job(id).map(Job::snapshot);
+    }
+
+    public List<BulkJob> findAll() {
+        List<BulkJob> result = new ArrayList<>();
+        synchronized (jobs) {
+            jobs.values().forEach(job -> result.add(job.snapshot()));
+        }
+        return result;
+    }
+
+    /**
+     * Progress of the job: its current state, then one snapshot per change,
+     * completing once the job has finished.
+     */
+    public Optional<Flux<BulkJob>> events(String id) {
+        return job(id).map(job -> job.events.asFlux());
+    }
+
+    /**
+     * Cancels a queued job right away and a running one after its current
+     * chunk; rows already deleted stay deleted.
+     */
+    public Optional<BulkJob> cancel(String id) {
+        return job(id).map(Job::cancel);
+    }
+
+    @Override
+    public void destroy() {
+        worker.dispose();
+    }
+
+    private Optional<Job> job(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    private void evictFinished() {
+        int finished = 0;
+        for (Job job : jobs.values()) {
+            if (job.isFinished()) {
+                finished++;
+            }
+        }
+        for (Iterator<Job> it = jobs.values().iterator(); it.hasNext() && finished > retained;) {
+            if (it.next().isFinished()) {
+                it.remove();
+                finished--;
+            }
+        }
+    }
+
+    private Mono<Void> run(Job job) {
+        if (!job.start()) {
+            return Mono.empty();
+        }
+        Mono<Integer> chunk = Mono.defer(() -> job.chunk.apply(chunkSize));
+        return chunk
+            .expand(deleted -> deleted < chunkSize || job.isCancelRequested() ? Mono.empty()
+                : Mono.delay(pause)
+                    .takeUntilOther(job.cancelled.asMono())
+                    .filter(tick -> !job.isCancelRequested())
+                    .flatMap(tick -> chunk))
+            .doOnNext(job::progress)
+            .then(Mono.fromRunnable(job::complete))
+            .onErrorResume(e -> Mono.fromRunnable(() -> job.fail(e)))
+            .then();
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String operation;
+        private final String target;
+        private final IntFunction<Mono<Integer>> chunk;
+        private final Instant submittedAt = Instant.now();
+        private final Sinks.Many<BulkJob> events = Sinks.many().replay().latest();
+        private final Sinks.One<Boolean> cancelled = Sinks.one();
+
+        private JobStatus status = JobStatus.QUEUED;
+        private long deleted;
+        private int chunks;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private String error;
+        private boolean cancelRequested;
+
+        private Job(String id, String operation, String target, IntFunction<Mono<Integer>> chunk) {
+            this.id = id;
+            this.operation = operation;
+            this.target = target;
+            this.chunk = chunk;
+            events.tryEmitNext(snapshot());
+        }
+
+        private synchronized BulkJob snapshot() {
+            return new BulkJob(id, operation, target, status, deleted, chunks, submittedAt, startedAt, finishedAt, error);
+        }
+
+        private synchronized boolean isFinished() {
+            return status.isFinished();
+        }
+
+        private synchronized boolean isCancelRequested() {
+            return cancelRequested;
+        }
+
+        private synchronized boolean start() {
+            if (status != JobStatus.QUEUED) {
+                return false;
+            }
+            status = JobStatus.RUNNING;
+            startedAt = Instant.now();
+            events.tryEmitNext(snapshot());
+            return true;
+        }
+
+        private synchronized void progress(int deletedInChunk) {
+            deleted += deletedInChunk;
+            chunks++;
+            events.tryEmitNext(snapshot());
+        }
+
+        private synchronized void complete() {
+            finish(cancelRequested ? JobStatus.CANCELLED : JobStatus.COMPLETED);
+        }
+
+        private synchronized void fail(Throwable e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            finish(JobStatus.FAILED);
+        }
+
+        private synchronized BulkJob cancel() {
+            if (status == JobStatus.QUEUED) {
+                finish(JobStatus.CANCELLED);
+            } else if (status == JobStatus.RUNNING) {
+                cancelRequested = true;
+                cancelled.tryEmitValue(true);
+            }
+            return snapshot();
+        }
+
+        private void finish(JobStatus result) {
+            status = result;
+            finishedAt = Instant.now();
+            events.tryEmitNext(snapshot());
+            events.tryEmitComplete();
+        }
+    }
+}
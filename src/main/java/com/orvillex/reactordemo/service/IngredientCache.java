@@ -0,0 +1,222 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process near-cache of the ingredient catalog. Entries are keyed by id,
+ * evicted least-recently-used beyond {@code maxSize} and expire after
+ * {@code ttl}. Once the whole catalog has been loaded the cache can also
+ * answer full and per-{@link Type} listings until an entry is evicted or the
+ * catalog expires.
+ */
+@Component
+public class IngredientCache {
+    private static final Comparator<Ingredient> BY_ID = Comparator.comparing(Ingredient::getId);
+    private static final Comparator<Ingredient> BY_NAME = Comparator.comparing(Ingredient::getName)
+        .thenComparing(Ingredient::getId);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() <= maxSize) {
+                return false;
+            }
+            unindex(eldest.getValue().value);
+            catalogExpiresAt = 0;
+            evictions.increment();
+            return true;
+        }
+    };
+    private final EnumMap<Type, Set<Long>> byType = new EnumMap<>(Type.class);
+    private long catalogExpiresAt;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public IngredientCache(@Value("${ingredient.cache.max-size:1000}") int maxSize,
+            @Value("${ingredient.cache.ttl:10m}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    IngredientCache(int maxSize, Duration ttl, LongSupplier nanoTime) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        for (Type type : Type.values()) {
+            byType.put(type, new HashSet<>());
+        }
+    }
+
+    public synchronized Ingredient get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null || expired(entry.expiresAt)) {
+            if (entry != null) {
+                remove(id);
+                catalogExpiresAt = 0;
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * @return the whole catalog ordered by id, or {@code null} when it is not
+     *         completely cached
+     */
+    public synchronized List<Ingredient> getAll() {
+        if (!catalogCached()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        List<Ingredient> all = new ArrayList<>(entries.size());
+        entries.values().forEach(e -> all.add(e.value));
+        all.sort(BY_ID);
+        return all;
+    }
+
+    /**
+     * @return all ingredients of a type ordered by name, or {@code null} when
+     *         the catalog is not completely cached
+     */
+    public synchronized List<Ingredient> getByType(Type type) {
+        if (!catalogCached()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        List<Ingredient> matches = new ArrayList<>();
+        byType.get(type).forEach(id -> matches.add(entries.get(id).value));
+        matches.sort(BY_NAME);
+        return matches;
+    }
+
+    /**
+     * Current write generation. Loads started before a write must not
+     * repopulate the cache with what they read.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(Ingredient ingredient) {
+        Entry previous = entries.get(ingredient.getId());
+        if (previous != null) {
+            unindex(previous.value);
+        }
+        entries.put(ingredient.getId(), new Entry(ingredient, nanoTime.getAsLong() + ttlNanos));
+        byType.get(ingredient.getType()).add(ingredient.getId());
+    }
+
+    public synchronized void putIfCurrent(Ingredient ingredient, long expectedGeneration) {
+        if (generation == expectedGeneration) {
+            put(ingredient);
+        }
+    }
+
+    public synchronized void putCatalog(Collection<Ingredient> catalog, long expectedGeneration) {
+        if (generation != expectedGeneration || catalog.size() > maxSize) {
+            return;
+        }
+        entries.clear();
+        byType.values().forEach(Set::clear);
+        catalog.forEach(this::put);
+        catalogExpiresAt = nanoTime.getAsLong() + ttlNanos;
+    }
+
+    /**
+     * Write-through update for a saved ingredient.
+     */
+    public synchronized void saved(Ingredient ingredient) {
+        generation++;
+        put(ingredient);
+    }
+
+    public synchronized void evict(Long id) {
+        generation++;
+        remove(id);
+    }
+
+    /**
+     * @param allDeleted whether every ingredient of the type is known to be
+     *        gone; otherwise the cached catalog no longer holds the rows
+     *        that are left and stops answering listings
+     */
+    public synchronized void evictType(Type type, boolean allDeleted) {
+        generation++;
+        for (Long id : new ArrayList<>(byType.get(type))) {
+            entries.remove(id);
+        }
+        byType.get(type).clear();
+        if (!allDeleted) {
+            catalogExpiresAt = 0;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        byType.values().forEach(Set::clear);
+        catalogExpiresAt = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private boolean catalogCached() {
+        return catalogExpiresAt != 0 && !expired(catalogExpiresAt);
+    }
+
+    private boolean expired(long expiresAt) {
+        return nanoTime.getAsLong() - expiresAt > 0;
+    }
+
+    private void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            unindex(entry.value);
+        }
+    }
+
+    private void unindex(Ingredient ingredient) {
+        byType.get(ingredient.getType()).remove(ingredient.getId());
+    }
+
+    private static final class Entry {
+        private final Ingredient value;
+        private final long expiresAt;
+
+        private Entry(Ingredient value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
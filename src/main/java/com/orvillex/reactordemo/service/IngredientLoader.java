@@ -0,0 +1,63 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * DataLoader-style front for {@link IngredientRepository#findById}: lookups
+ * arriving within a short window are answered by one {@code findAllById}
+ * (IN query), and concurrent lookups of the same id share one result.
+ */
+@Component
+public class IngredientLoader implements DisposableBean {
+    private final IngredientRepository repository;
+    private final MicroBatcher<Long, Ingredient> batcher;
+    private final Map<Long, Mono<Ingredient>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IngredientLoader(IngredientRepository repository,
+            @Value("${ingredient.loader.window:2ms}") Duration window,
+            @Value("${ingredient.loader.max-batch-size:100}") int maxBatchSize,
+            @Value("${ingredient.loader.max-batches-in-flight:4}") int maxBatchesInFlight) {
+        this.repository = repository;
+        this.batcher = new MicroBatcher<>(maxBatchSize, window, maxBatchesInFlight, this::loadBatch);
+    }
+
+    public Mono<Ingredient> load(Long id) {
+        return Mono.defer(() -> {
+            Mono<Ingredient> pending = inFlight.get(id);
+            if (pending != null) {
+                return pending;
+            }
+            Mono<Ingredient> created = batcher.submit(id)
+                .doFinally(signal -> inFlight.remove(id))
+                .cache();
+            pending = inFlight.putIfAbsent(id, created);
+            return pending != null ? pending : created;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        batcher.dispose();
+    }
+
+    private Mono<List<Ingredient>> loadBatch(List<Long> ids) {
+        return repository.findAllById(ids)
+            .collectMap(Ingredient::getId)
+            .map(found -> ids.stream().map(found::get).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,205 @@
+package com.orvillex.reactordemo.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory trigram index over {@link Ingredient#getName()} for typeahead
+ * search. Queries of three or more characters intersect the posting lists of
+ * their trigrams and verify the substring on the survivors; shorter queries
+ * scan the (small) catalog. Matches are ranked exact, prefix, word prefix,
+ * then plain substring, shorter names first.
+ */
+@Component
+public class IngredientNameIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, Ingredient> documents = new HashMap<>();
+    private final Map<Long, String> normalized = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private boolean loaded;
+    private long generation;
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Current write generation. A catalog load started before a write must
+     * not replace the index with what it read.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Replaces the index content with the full catalog.
+     *
+     * @return {@code false} when a write happened since
+     *         {@code expectedGeneration} and the catalog was discarded
+     */
+    public synchronized boolean load(Collection<Ingredient> catalog, long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return false;
+        }
+        documents.clear();
+        normalized.clear();
+        postings.clear();
+        catalog.forEach(this::add);
+        loaded = true;
+        return true;
+    }
+
+    public synchronized void put(Ingredient ingredient) {
+        generation++;
+        unindex(ingredient.getId());
+        add(ingredient);
+    }
+
+    public synchronized void remove(Long id) {
+        generation++;
+        unindex(id);
+    }
+
+    public synchronized void removeType(Type type) {
+        generation++;
+        for (Ingredient ingredient : new ArrayList<>(documents.values())) {
+            if (ingredient.getType() == type) {
+                unindex(ingredient.getId());
+            }
+        }
+    }
+
+    /**
+     * Forces a reload on the next search, for writes whose outcome is unknown.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        loaded = false;
+    }
+
+    /**
+     * @param type optional filter, {@code null} for all types
+     */
+    public synchronized List<Ingredient> search(String query, Type type, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Match> matches = new ArrayList<>();
+        for (Long id : candidates(needle)) {
+            Ingredient ingredient = documents.get(id);
+            if (type != null && ingredient.getType() != type) {
+                continue;
+            }
+            String name = normalized.get(id);
+            int rank = rank(name, needle);
+            if (rank >= 0) {
+                matches.add(new Match(ingredient, name, rank));
+            }
+        }
+        matches.sort(Match.ORDER);
+        List<Ingredient> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            result.add(matches.get(i).ingredient);
+        }
+        return result;
+    }
+
+    private Collection<Long> candidates(String needle) {
+        if (needle.length() < GRAM) {
+            return documents.keySet();
+        }
+        Set<Long> result = null;
+        for (String gram : grams(needle)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (result == null) {
+                result = new HashSet<>(posting);
+            } else {
+                result.retainAll(posting);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void add(Ingredient ingredient) {
+        String name = normalize(ingredient.getName());
+        documents.put(ingredient.getId(), ingredient);
+        normalized.put(ingredient.getId(), name);
+        for (String gram : grams(name)) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(ingredient.getId());
+        }
+    }
+
+    private void unindex(Long id) {
+        documents.remove(id);
+        String name = normalized.remove(id);
+        if (name == null) {
+            return;
+        }
+        for (String gram : grams(name)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null && posting.remove(id) && posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static int rank(String name, String needle) {
+        int at = name.indexOf(needle);
+        if (at < 0) {
+            return -1;
+        }
+        if (at == 0) {
+            return name.length() == needle.length() ? 0 : 1;
+        }
+        return name.contains(" " + needle) ? 2 : 3;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Match {
+        private static final Comparator<Match> ORDER = Comparator.<Match>comparingInt(m -> m.rank)
+            .thenComparingInt(m -> m.name.length())
+            .thenComparing(m -> m.name)
+            .thenComparing(m -> m.ingredient.getId());
+
+        private final Ingredient ingredient;
+        private final String name;
+        private final int rank;
+
+        private Match(Ingredient ingredient, String name, int rank) {
+            this.ingredient = ingredient;
+            this.name = name;
+            this.rank = rank;
+        }
+    }
+}
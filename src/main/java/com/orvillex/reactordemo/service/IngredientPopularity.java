@@ -0,0 +1,96 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Live ingredient and {@link Type} usage over 1m/5m/1h rolling windows,
+ * updated as tacos are saved, so dashboards never have to aggregate
+ * {@code taco_ingredients} in the database.
+ */
+@Component
+public class IngredientPopularity {
+    private static final int BUCKETS = 60;
+
+    private final List<Window> windows = new ArrayList<>();
+    private final Flux<List<PopularityWindow>> updates;
+
+    @Autowired
+    public IngredientPopularity(@Value("${popularity.push-interval:1s}") Duration pushInterval) {
+        this(pushInterval, System::nanoTime);
+    }
+
+    IngredientPopularity(Duration pushInterval, LongSupplier nanoTime) {
+        windows.add(new Window("1m", Duration.ofMinutes(1), nanoTime));
+        windows.add(new Window("5m", Duration.ofMinutes(5), nanoTime));
+        windows.add(new Window("1h", Duration.ofHours(1), nanoTime));
+        this.updates = Flux.interval(Duration.ZERO, pushInterval)
+            .onBackpressureDrop()
+            .map(tick -> snapshot())
+            .share();
+    }
+
+    /**
+     * Counts one use of each ingredient of a saved taco.
+     */
+    public void record(Collection<Ingredient> ingredients) {
+        for (Window window : windows) {
+            for (Ingredient ingredient : ingredients) {
+                window.ingredients.add(ingredient.getId(), 1);
+                window.types.add(ingredient.getType(), 1);
+            }
+        }
+    }
+
+    public List<PopularityWindow> snapshot() {
+        List<PopularityWindow> snapshot = new ArrayList<>(windows.size());
+        for (Window window : windows) {
+            snapshot.add(new PopularityWindow(window.name,
+                mostUsedFirst(window.ingredients.snapshot()), mostUsedFirst(window.types.snapshot())));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Snapshots of all windows every push interval, shared by all
+     * subscribers; one that falls behind skips to the latest snapshot
+     * without holding back the others.
+     */
+    public Flux<List<PopularityWindow>> updates() {
+        return updates.onBackpressureLatest();
+    }
+
+    private static <K> Map<K, Long> mostUsedFirst(Map<K, Long> counts) {
+        Map<K, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+            .sorted(Map.Entry.<K, Long>comparingByValue().reversed())
+            .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    private static final class Window {
+        private final String name;
+        private final WindowedCounter<Long> ingredients;
+        private final WindowedCounter<Type> types;
+
+        private Window(String name, Duration length, LongSupplier nanoTime) {
+            this.name = name;
+            this.ingredients = new WindowedCounter<>(length, BUCKETS, nanoTime);
+            this.types = new WindowedCounter<>(length, BUCKETS, nanoTime);
+        }
+    }
+}
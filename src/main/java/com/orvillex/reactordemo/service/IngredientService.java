@@ -0,0 +1,225 @@
+package com.orvillex.reactordemo.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+@Service
+@RequiredArgsConstructor
+public class IngredientService {
+    private final IngredientRepository repository;
+    private final IngredientCache cache;
+    private final IngredientLoader loader;
+    private final IngredientNameIndex index;
+    private final IngredientWriter writer;
+    private final AtomicReference<Mono<Void>> indexLoad = new AtomicReference<>();
+    private final List<Runnable> writeListeners = new CopyOnWriteArrayList<>();
+
+    public Flux<Ingredient> findAll() {
+        return Flux.defer(() -> {
+            List<Ingredient> cached = cache.getAll();
+            if (cached != null) {
+                return Flux.fromIterable(cached);
+            }
+            long generation = cache.generation();
+            return repository.findAll()
+                .collectList()
+                .doOnNext(catalog -> cache.putCatalog(catalog, generation))
+                .flatMapIterable(catalog -> catalog);
+        });
+    }
+
+    /**
+     * Like {@link #findAll()} but never buffers a cache miss, so large
+     * catalogs can be streamed straight from the database.
+     */
+    public Flux<Ingredient> streamAll() {
+        return Flux.defer(() -> {
+            List<Ingredient> cached = cache.getAll();
+            return cached != null ? Flux.fromIterable(cached) : repository.findAll();
+        });
+    }
+
+    public Flux<Ingredient> findByType(Type type) {
+        return Flux.defer(() -> {
+            List<Ingredient> cached = cache.getByType(type);
+            return cached != null ? Flux.fromIterable(cached) : repository.findByTypeOrderByName(type, Pageable.unpaged());
+        });
+    }
+
+    public Flux<Ingredient> findByType(Type type, Pageable pageable) {
+        return repository.findByTypeOrderByName(type, pageable);
+    }
+
+    public Flux<Ingredient> findByTypeAfter(Type type, String name, Long id, int limit) {
+        return repository.findByTypeAfter(type.name(), name, id, limit);
+    }
+
+    public Mono<Ingredient> findById(Long id) {
+        return Mono.defer(() -> {
+            Ingredient cached = cache.get(id);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long generation = cache.generation();
+            return loader.load(id)
+                .doOnNext(ingredient -> cache.putIfCurrent(ingredient, generation));
+        });
+    }
+
+    /**
+     * Ranked name search answered from {@link IngredientNameIndex}; the
+     * database is only read once, to build the index.
+     *
+     * @param type optional filter, {@code null} for all types
+     */
+    public Flux<Ingredient> search(String query, Type type, int limit) {
+        return loadIndex()
+            .thenMany(Flux.defer(() -> Flux.fromIterable(index.search(query, type, limit))));
+    }
+
+    /**
+     * Concurrent first searches share one in-flight catalog read; the shared
+     * load is dropped once it ends, so a failure or a later invalidation
+     * starts a new one.
+     */
+    private Mono<Void> loadIndex() {
+        return Mono.defer(() -> {
+            if (index.isLoaded()) {
+                return Mono.empty();
+            }
+            Mono<Void> load = indexLoad.get();
+            if (load != null) {
+                return load;
+            }
+            Mono<Void> started = readIndex()
+                .doFinally(signal -> indexLoad.set(null))
+                .cache();
+            return indexLoad.compareAndSet(null, started) ? started : loadIndex();
+        });
+    }
+
+    private Mono<Void> readIndex() {
+        return Mono.defer(() -> {
+            long generation = index.generation();
+            return repository.findAll()
+                .collectList()
+                .flatMap(catalog -> index.load(catalog, generation) ? Mono.empty() : readIndex())
+                .then();
+        });
+    }
+
+    /**
+     * Saves through {@link IngredientWriter}, so concurrent saves share one
+     * upsert statement; an ingredient with an unknown id is inserted under it.
+     */
+    public Mono<Ingredient> save(Ingredient ingredient) {
+        return writer.save(ingredient)
+            .doOnNext(cache::saved)
+            .doOnNext(index::put)
+            .doOnNext(saved -> written())
+            .doOnError(e -> {
+                if (ingredient.getId() != null) {
+                    cache.evict(ingredient.getId());
+                }
+                index.invalidate();
+                written();
+            })
+            .doOnCancel(this::written);
+    }
+
+    /**
+     * Upserts a batch with one statement, e.g. when importing a snapshot.
+     */
+    public Mono<List<Ingredient>> saveAll(List<Ingredient> ingredients) {
+        return writer.saveAll(ingredients)
+            .doOnNext(saved -> {
+                saved.forEach(ingredient -> {
+                    cache.saved(ingredient);
+                    index.put(ingredient);
+                });
+                written();
+            })
+            .doOnError(e -> {
+                cache.invalidateAll();
+                index.invalidate();
+                written();
+            })
+            .doOnCancel(this::written);
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return repository.deleteById(id)
+            .doFinally(signal -> {
+                cache.evict(id);
+                if (signal == SignalType.ON_COMPLETE) {
+                    index.remove(id);
+                } else {
+                    index.invalidate();
+                }
+                written();
+            });
+    }
+
+    public Mono<Integer> deleteByType(Type type) {
+        return repository.deleteByType(type)
+            .doFinally(signal -> typeDeleted(type, signal == SignalType.ON_COMPLETE));
+    }
+
+    /**
+     * Deletes at most {@code limit} ingredients of the type, so large deletes
+     * can be split into short statements.
+     *
+     * @return the number of ingredients deleted
+     */
+    public Mono<Integer> deleteChunkByType(Type type, int limit) {
+        return repository.deleteChunkByType(type.name(), limit)
+            .doOnNext(deleted -> typeDeleted(type, deleted < limit))
+            .doOnError(e -> typeDeleted(type, false))
+            .doOnCancel(() -> typeDeleted(type, false));
+    }
+
+    /**
+     * Drops the type from the name index once it is known to be gone;
+     * otherwise which of its rows are left is unknown, and the index is
+     * reloaded on the next search.
+     */
+    private void typeDeleted(Type type, boolean allDeleted) {
+        cache.evictType(type, allDeleted);
+        if (allDeleted) {
+            index.removeType(type);
+        } else {
+            index.invalidate();
+        }
+        written();
+    }
+
+    /**
+     * Registers a callback run after every write, whether it succeeded or
+     * not, once the cache and the name index reflect it; e.g. to drop
+     * responses built from the catalog.
+     */
+    public void onWrite(Runnable listener) {
+        writeListeners.add(listener);
+    }
+
+    private void written() {
+        writeListeners.forEach(Runnable::run);
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+}
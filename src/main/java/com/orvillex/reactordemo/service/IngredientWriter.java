@@ -0,0 +1,78 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.repository.mysql.IngredientUpsertRepository;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+/**
+ * Write-coalescing front for ingredient saves: saves arriving within a
+ * short window are written with one multi-row upsert. If that statement
+ * violates a constraint, the rows of the batch are retried one by one, so a
+ * bad row only fails its own caller. Any other failure fails the whole
+ * batch: after a timeout the statement may well have committed, and
+ * inserting its new rows again would duplicate them.
+ */
+@Component
+public class IngredientWriter implements DisposableBean {
+    private final IngredientUpsertRepository repository;
+    private final MicroBatcher<Ingredient, Signal<Ingredient>> batcher;
+
+    @Autowired
+    public IngredientWriter(IngredientUpsertRepository repository,
+            @Value("${ingredient.writer.window:2ms}") Duration window,
+            @Value("${ingredient.writer.max-batch-size:100}") int maxBatchSize,
+            @Value("${ingredient.writer.max-batches-in-flight:4}") int maxBatchesInFlight) {
+        this.repository = repository;
+        this.batcher = new MicroBatcher<>(maxBatchSize, window, maxBatchesInFlight, this::writeBatch);
+    }
+
+    public Mono<Ingredient> save(Ingredient ingredient) {
+        if (ingredient.getName() == null || ingredient.getType() == null) {
+            return Mono.error(new IllegalArgumentException("name and type are required"));
+        }
+        return batcher.submit(ingredient)
+            .dematerialize();
+    }
+
+    /**
+     * Writes an already batched list with one upsert, bypassing the window.
+     */
+    public Mono<List<Ingredient>> saveAll(List<Ingredient> ingredients) {
+        return repository.upsertAll(ingredients);
+    }
+
+    @Override
+    public void destroy() {
+        batcher.dispose();
+    }
+
+    private Mono<List<Signal<Ingredient>>> writeBatch(List<Ingredient> batch) {
+        return repository.upsertAll(batch)
+            .map(saved -> saved.stream().map(Signal::next).collect(Collectors.toList()))
+            .onErrorResume(IngredientWriter::isDataIntegrityViolation, e -> batch.size() == 1
+                ? Mono.just(List.of(Signal.error(e)))
+                : Flux.fromIterable(batch)
+                    .concatMap(ingredient -> repository.upsertAll(List.of(ingredient))
+                        .map(saved -> Signal.next(saved.get(0)))
+                        .onErrorResume(rowError -> Mono.just(Signal.error(rowError))))
+                    .collectList());
+    }
+
+    private static boolean isDataIntegrityViolation(Throwable e) {
+        return e instanceof DataIntegrityViolationException || e instanceof R2dbcDataIntegrityViolationException;
+    }
+}
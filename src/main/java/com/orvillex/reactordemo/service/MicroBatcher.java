@@ -0,0 +1,119 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collects items submitted by concurrent callers into batches of at most
+ * {@code maxBatchSize}, flushed at the latest {@code window} after the first
+ * item arrived, and hands each batch to a single call of the batch function.
+ * The batch function must return one result per item, in submission order,
+ * with {@code null} standing for "no result"; a failed batch fails every
+ * caller in it. Once disposed, or should the pipeline itself stop, waiting
+ * callers fail and later submits fail fast.
+ */
+public class MicroBatcher<T, R> implements Disposable {
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED =
+        (signal, result) -> result == Sinks.EmitResult.FAIL_NON_SERIALIZED;
+
+    private final Sinks.Many<Pending<T, R>> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final Function<List<T>, Mono<List<R>>> batchFunction;
+    private final Set<Pending<T, R>> outstanding = ConcurrentHashMap.newKeySet();
+    private final Disposable subscription;
+    private volatile Throwable stopped;
+
+    public MicroBatcher(int maxBatchSize, Duration window, int maxBatchesInFlight,
+            Function<List<T>, Mono<List<R>>> batchFunction) {
+        this.batchFunction = batchFunction;
+        this.subscription = queue.asFlux()
+            .bufferTimeout(maxBatchSize, window)
+            .onBackpressureBuffer()
+            .flatMap(this::execute, maxBatchesInFlight)
+            .subscribe(null, this::stop, () -> stop(new IllegalStateException("Batcher stopped")));
+    }
+
+    public Mono<R> submit(T item) {
+        return Mono.defer(() -> {
+            Pending<T, R> pending = new Pending<>(item, Sinks.one());
+            outstanding.add(pending);
+            Throwable error = stopped;
+            if (error != null) {
+                outstanding.remove(pending);
+                return Mono.error(error);
+            }
+            queue.emitNext(pending, RETRY_NON_SERIALIZED);
+            return pending.result.asMono();
+        });
+    }
+
+    @Override
+    public void dispose() {
+        subscription.dispose();
+        stop(new IllegalStateException("Batcher disposed"));
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return subscription.isDisposed();
+    }
+
+    private Mono<Void> execute(List<Pending<T, R>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        batch.forEach(p -> items.add(p.item));
+        return Mono.defer(() -> batchFunction.apply(items))
+            .doOnNext(results -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    R result = i < results.size() ? results.get(i) : null;
+                    if (result == null) {
+                        batch.get(i).result.tryEmitEmpty();
+                    } else {
+                        batch.get(i).result.tryEmitValue(result);
+                    }
+                }
+            })
+            .doOnError(e -> batch.forEach(p -> p.result.tryEmitError(e)))
+            .doOnSuccess(results -> {
+                if (results == null) {
+                    batch.forEach(p -> p.result.tryEmitEmpty());
+                }
+            })
+            .onErrorResume(e -> Mono.empty())
+            .doFinally(signal -> {
+                if (signal != SignalType.CANCEL) {
+                    batch.forEach(outstanding::remove);
+                }
+            })
+            .then();
+    }
+
+    private void stop(Throwable error) {
+        if (stopped == null) {
+            stopped = error;
+        }
+        for (Pending<T, R> pending : outstanding) {
+            if (outstanding.remove(pending)) {
+                pending.result.tryEmitError(stopped);
+            }
+        }
+    }
+
+    private static final class Pending<T, R> {
+        private final T item;
+        private final Sinks.One<R> result;
+
+        private Pending(T item, Sinks.One<R> result) {
+            this.item = item;
+            this.result = result;
+        }
+    }
+}
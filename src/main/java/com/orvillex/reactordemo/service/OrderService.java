@@ -0,0 +1,71 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.orvillex.reactordemo.domain.Order;
+import com.orvillex.reactordemo.repository.mysql.OrderRepository;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+/**
+ * Write-behind front for {@link OrderRepository}: orders placed within a
+ * short window are persisted together in one transaction, and each caller
+ * completes once the batch holding its order has committed. If the batch
+ * violates a constraint it is rolled back and its orders are retried one by
+ * one, so a bad order only fails its own caller.
+ */
+@Service
+public class OrderService implements DisposableBean {
+    private final OrderRepository repository;
+    private final MicroBatcher<Order, Signal<Order>> batcher;
+
+    @Autowired
+    public OrderService(OrderRepository repository,
+            @Value("${order.write-behind.window:10ms}") Duration window,
+            @Value("${order.write-behind.max-batch-size:200}") int maxBatchSize,
+            @Value("${order.write-behind.max-batches-in-flight:2}") int maxBatchesInFlight) {
+        this.repository = repository;
+        this.batcher = new MicroBatcher<>(maxBatchSize, window, maxBatchesInFlight, this::writeBatch);
+    }
+
+    public Mono<Order> place(Order order) {
+        Order placed = order.withId(null)
+            .withPlacedAt(order.getPlacedAt() == null ? new Date() : order.getPlacedAt())
+            .withTacos(order.getTacos() == null ? List.of() : order.getTacos());
+        return batcher.submit(placed)
+            .dematerialize();
+    }
+
+    @Override
+    public void destroy() {
+        batcher.dispose();
+    }
+
+    private Mono<List<Signal<Order>>> writeBatch(List<Order> batch) {
+        return repository.insertAll(batch)
+            .map(saved -> saved.stream().map(Signal::next).collect(Collectors.toList()))
+            .onErrorResume(OrderService::isDataIntegrityViolation, e -> batch.size() == 1
+                ? Mono.just(List.of(Signal.error(e)))
+                : Flux.fromIterable(batch)
+                    .concatMap(order -> repository.insertAll(List.of(order))
+                        .map(saved -> Signal.next(saved.get(0)))
+                        .onErrorResume(rowError -> Mono.just(Signal.error(rowError))))
+                    .collectList());
+    }
+
+    private static boolean isDataIntegrityViolation(Throwable e) {
+        return e instanceof DataIntegrityViolationException || e instanceof R2dbcDataIntegrityViolationException;
+    }
+}
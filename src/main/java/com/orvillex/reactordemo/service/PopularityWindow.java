@@ -0,0 +1,19 @@
+package com.orvillex.reactordemo.service;
+
+import java.util.Map;
+
+import com.orvillex.reactordemo.enums.Type;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Usage counts over one rolling window, most used first.
+ */
+@Data
+@AllArgsConstructor
+public class PopularityWindow {
+    private final String window;
+    private final Map<Long, Long> ingredients;
+    private final Map<Type, Long> types;
+}
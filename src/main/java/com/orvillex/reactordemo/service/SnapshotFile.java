@@ -0,0 +1,261 @@
+package com.orvillex.reactordemo.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.Type;
+
+/**
+ * Binary snapshot of ingredients and tacos. Records are written in blocks
+ * of one kind, and a footer indexes every block by offset and length, so a
+ * reader can map and decode blocks independently and in parallel:
+ *
+ * <pre>
+ * file       = MAGIC:int VERSION:short block* index indexOffset:long MAGIC:int
+ * index      = count:int (kind:byte records:int offset:long length:int)*
+ * ingredient = id:long name:string type:byte
+ * taco       = id:string name:string remark:string
+ * string     = length:int (-1 for null) utf8:byte[length]
+ * </pre>
+ *
+ * All numbers are big-endian; the type is stored as its {@link Type#getCode()}.
+ */
+final class SnapshotFile {
+    static final byte INGREDIENTS = 1;
+    static final byte TACOS = 2;
+
+    private static final int MAGIC = 0x54534e50;
+    private static final short VERSION = 1;
+    private static final int HEADER = Integer.BYTES + Short.BYTES;
+    private static final int FOOTER = Long.BYTES + Integer.BYTES;
+    private static final int INDEX_ENTRY = 1 + Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private SnapshotFile() {
+    }
+
+    static final class Block {
+        final byte kind;
+        final int records;
+        final long offset;
+        final int length;
+
+        Block(byte kind, int records, long offset, int length) {
+            this.kind = kind;
+            this.records = records;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Appends blocks through a {@link FileChannel}; not thread-safe.
+     */
+    static final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final List<Block> blocks = new ArrayList<>();
+        private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+        Writer(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(MAGIC).putShort(VERSION);
+            write(header.flip());
+        }
+
+        void writeIngredients(List<Ingredient> ingredients) throws IOException {
+            buffer.clear();
+            for (Ingredient ingredient : ingredients) {
+                ensure(Long.BYTES + 1);
+                buffer.putLong(ingredient.getId());
+                putString(ingredient.getName());
+                ensure(1);
+                buffer.put((byte) ingredient.getType().getCode());
+            }
+            writeBlock(INGREDIENTS, ingredients.size());
+        }
+
+        void writeTacos(List<Taco> tacos) throws IOException {
+            buffer.clear();
+            for (Taco taco : tacos) {
+                putString(taco.getId());
+                putString(taco.getName());
+                putString(taco.getRemark());
+            }
+            writeBlock(TACOS, tacos.size());
+        }
+
+        /**
+         * Writes the index and forces the file to disk.
+         */
+        void finish() throws IOException {
+            long indexOffset = channel.position();
+            ByteBuffer index = ByteBuffer.allocate(Integer.BYTES + blocks.size() * INDEX_ENTRY + FOOTER);
+            index.putInt(blocks.size());
+            for (Block block : blocks) {
+                index.put(block.kind).putInt(block.records).putLong(block.offset).putInt(block.length);
+            }
+            index.putLong(indexOffset).putInt(MAGIC);
+            write(index.flip());
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void writeBlock(byte kind, int records) throws IOException {
+            if (records == 0) {
+                return;
+            }
+            long offset = channel.position();
+            int length = buffer.position();
+            write(buffer.flip());
+            blocks.add(new Block(kind, records, offset, length));
+        }
+
+        private void putString(String value) {
+            if (value == null) {
+                ensure(Integer.BYTES);
+                buffer.putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(Integer.BYTES + bytes.length);
+            buffer.putInt(bytes.length).put(bytes);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer = larger.put(buffer.flip());
+            }
+        }
+
+        private void write(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Reads the index up front and maps each block on demand; blocks may be
+     * read concurrently.
+     */
+    static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final List<Block> blocks;
+
+        Reader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                this.blocks = readIndex();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        List<Block> blocks() {
+            return blocks;
+        }
+
+        long records(byte kind) {
+            return blocks.stream().filter(block -> block.kind == kind).mapToLong(block -> block.records).sum();
+        }
+
+        List<Ingredient> readIngredients(Block block) throws IOException {
+            MappedByteBuffer bytes = map(block, INGREDIENTS);
+            List<Ingredient> ingredients = new ArrayList<>(block.records);
+            for (int i = 0; i < block.records; i++) {
+                long id = bytes.getLong();
+                String name = getString(bytes);
+                ingredients.add(new Ingredient(id, name, Type.fromCode(bytes.get())));
+            }
+            return ingredients;
+        }
+
+        List<Taco> readTacos(Block block) throws IOException {
+            MappedByteBuffer bytes = map(block, TACOS);
+            List<Taco> tacos = new ArrayList<>(block.records);
+            for (int i = 0; i < block.records; i++) {
+                tacos.add(new Taco(getString(bytes), getString(bytes), getString(bytes)));
+            }
+            return tacos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private List<Block> readIndex() throws IOException {
+            long size = channel.size();
+            if (size < HEADER + Integer.BYTES + FOOTER) {
+                throw new IOException("Not a snapshot file: too short");
+            }
+            ByteBuffer header = read(0, HEADER);
+            if (header.getInt() != MAGIC || header.getShort() != VERSION) {
+                throw new IOException("Not a snapshot file or unsupported version");
+            }
+            ByteBuffer footer = read(size - FOOTER, FOOTER);
+            long indexOffset = footer.getLong();
+            if (footer.getInt() != MAGIC || indexOffset < HEADER || indexOffset > size - FOOTER - Integer.BYTES) {
+                throw new IOException("Snapshot file is truncated");
+            }
+            ByteBuffer index = read(indexOffset, (int) (size - FOOTER - indexOffset));
+            int count = index.getInt();
+            if (index.remaining() != (long) count * INDEX_ENTRY) {
+                throw new IOException("Snapshot index is corrupt");
+            }
+            List<Block> blocks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Block block = new Block(index.get(), index.getInt(), index.getLong(), index.getInt());
+                if (block.offset < HEADER || block.offset + block.length > indexOffset) {
+                    throw new IOException("Snapshot index is corrupt");
+                }
+                blocks.add(block);
+            }
+            return Collections.unmodifiableList(blocks);
+        }
+
+        private ByteBuffer read(long position, int length) throws IOException {
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, position + bytes.position()) < 0) {
+                    throw new IOException("Snapshot file is truncated");
+                }
+            }
+            return bytes.flip();
+        }
+
+        private MappedByteBuffer map(Block block, byte kind) throws IOException {
+            if (block.kind != kind) {
+                throw new IllegalArgumentException("Block holds kind " + block.kind + ", not " + kind);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, block.offset, block.length);
+        }
+
+        private static String getString(ByteBuffer bytes) {
+            int length = bytes.getInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] utf8 = new byte[length];
+            bytes.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.orvillex.reactordemo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Records exported to or imported from a snapshot so far. {@code total} is
+ * exact for an import and the count at start for an export.
+ */
+@Data
+@AllArgsConstructor
+public class SnapshotProgress {
+    private final String snapshot;
+    private final long ingredients;
+    private final long tacos;
+    private final long total;
+    private final boolean finished;
+}
@@ -0,0 +1,168 @@
+package com.orvillex.reactordemo.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Exports the ingredient table and the taco collection into a
+ * {@link SnapshotFile} and imports one back, to stand up environments
+ * without replaying saves one by one. Exports stream both stores into
+ * blocks of {@code blockSize} records; imports map and decode the blocks in
+ * parallel and save each one with a single {@code saveAll}, at most
+ * {@code concurrency} blocks at a time. Both report progress once per block.
+ * <p>
+ * Snapshots live in {@code snapshot.directory} and are addressed by plain
+ * file name; a name that is not one fails with
+ * {@link IllegalArgumentException}, a missing snapshot with
+ * {@link java.nio.file.NoSuchFileException}. An export becomes visible only
+ * once complete.
+ */
+@Slf4j
+@Service
+public class SnapshotService {
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,99}");
+
+    private final IngredientRepository ingredientRepository;
+    private final IngredientService ingredients;
+    private final TacoRepository tacos;
+    private final Path directory;
+    private final int blockSize;
+    private final int concurrency;
+
+    @Autowired
+    public SnapshotService(IngredientRepository ingredientRepository, IngredientService ingredients, TacoRepository tacos,
+            @Value("${snapshot.directory:snapshots}") String directory,
+            @Value("${snapshot.block-size:1000}") int blockSize,
+            @Value("${snapshot.concurrency:4}") int concurrency) {
+        this.ingredientRepository = ingredientRepository;
+        this.ingredients = ingredients;
+        this.tacos = tacos;
+        this.directory = Paths.get(directory);
+        this.blockSize = blockSize;
+        this.concurrency = concurrency;
+    }
+
+    public Flux<SnapshotProgress> export(String name) {
+        return Flux.defer(() -> {
+            Path file = resolve(name);
+            Path partial = file.resolveSibling(file.getFileName() + ".partial");
+            AtomicLong ingredientCount = new AtomicLong();
+            AtomicLong tacoCount = new AtomicLong();
+            return Mono.zip(ingredientRepository.count(), tacos.count(), Long::sum)
+                .flatMapMany(total -> Flux.using(
+                    () -> {
+                        Files.createDirectories(directory);
+                        return new SnapshotFile.Writer(partial);
+                    },
+                    (SnapshotFile.Writer writer) -> Flux.concat(
+                            ingredientRepository.findAll()
+                                .buffer(blockSize)
+                                .publishOn(Schedulers.boundedElastic())
+                                .map(block -> {
+                                    write(() -> writer.writeIngredients(block));
+                                    return ingredientCount.addAndGet(block.size());
+                                }),
+                            tacos.findAll()
+                                .buffer(blockSize)
+                                .publishOn(Schedulers.boundedElastic())
+                                .map(block -> {
+                                    write(() -> writer.writeTacos(block));
+                                    return tacoCount.addAndGet(block.size());
+                                }))
+                        .map(written -> new SnapshotProgress(name, ingredientCount.get(), tacoCount.get(), total, false))
+                        .concatWith(Mono.fromCallable(() -> {
+                            writer.finish();
+                            writer.close();
+                            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                            log.info("Exported snapshot {}: {} ingredients, {} tacos", name, ingredientCount.get(), tacoCount.get());
+                            return new SnapshotProgress(name, ingredientCount.get(), tacoCount.get(),
+                                ingredientCount.get() + tacoCount.get(), true);
+                        }).subscribeOn(Schedulers.boundedElastic())),
+                    (SnapshotFile.Writer writer) -> {
+                        try {
+                            writer.close();
+                            Files.deleteIfExists(partial);
+                        } catch (IOException e) {
+                            log.warn("Could not clean up {}", partial, e);
+                        }
+                    }));
+        });
+    }
+
+    /**
+     * Upserts the snapshot content: ingredients keep their ids, tacos
+     * replace documents with the same id.
+     */
+    public Flux<SnapshotProgress> load(String name) {
+        return Flux.defer(() -> {
+            Path file = resolve(name);
+            AtomicLong ingredientCount = new AtomicLong();
+            AtomicLong tacoCount = new AtomicLong();
+            return Flux.using(
+                () -> new SnapshotFile.Reader(file),
+                (SnapshotFile.Reader reader) -> {
+                    long total = reader.records(SnapshotFile.INGREDIENTS) + reader.records(SnapshotFile.TACOS);
+                    return Flux.fromIterable(reader.blocks())
+                        .flatMap(block -> block.kind == SnapshotFile.INGREDIENTS
+                            ? Mono.fromCallable(() -> reader.readIngredients(block))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .flatMap(ingredients::saveAll)
+                                .map(saved -> ingredientCount.addAndGet(saved.size()))
+                            : Mono.fromCallable(() -> reader.readTacos(block))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .flatMap(batch -> tacos.saveAll(batch).count())
+                                .map(tacoCount::addAndGet), concurrency)
+                        .map(saved -> new SnapshotProgress(name, ingredientCount.get(), tacoCount.get(), total, false))
+                        .concatWith(Mono.fromSupplier(() -> {
+                            log.info("Imported snapshot {}: {} ingredients, {} tacos", name, ingredientCount.get(), tacoCount.get());
+                            return new SnapshotProgress(name, ingredientCount.get(), tacoCount.get(), total, true);
+                        }));
+                },
+                (SnapshotFile.Reader reader) -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        log.warn("Could not close {}", file, e);
+                    }
+                });
+        });
+    }
+
+    private Path resolve(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Snapshot names are letters, digits, '.', '_' and '-'");
+        }
+        return directory.resolve(name);
+    }
+
+    private static void write(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
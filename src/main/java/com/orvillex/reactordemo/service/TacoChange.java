@@ -0,0 +1,18 @@
+package com.orvillex.reactordemo.service;
+
+import com.orvillex.reactordemo.domain.Taco;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One change to the {@code taco} collection; {@code taco} is {@code null}
+ * for deletes.
+ */
+@Data
+@AllArgsConstructor
+public class TacoChange {
+    private final String operation;
+    private final String id;
+    private final Taco taco;
+}
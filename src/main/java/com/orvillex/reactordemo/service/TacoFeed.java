@@ -0,0 +1,109 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.FeedOverflow;
+
+import org.bson.BsonValue;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Live feed of {@link TacoChange}s backed by a single change-stream cursor
+ * on the {@code taco} collection, opened when the first subscriber arrives
+ * and reopened with backoff if it fails. Every subscriber shares it through
+ * one multicast sink that replays the last {@code replay} changes to late
+ * subscribers.
+ */
+@Slf4j
+@Component
+public class TacoFeed implements DisposableBean {
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED =
+        (signal, result) -> result == Sinks.EmitResult.FAIL_NON_SERIALIZED;
+
+    private final Flux<TacoChange> source;
+    private final Duration retryBackoff;
+    private final Sinks.Many<TacoChange> sink;
+    private final AtomicBoolean connected = new AtomicBoolean();
+    private volatile Disposable upstream;
+
+    @Autowired
+    public TacoFeed(ReactiveMongoTemplate template, @Value("${taco.feed.replay:16}") int replay,
+            @Value("${taco.feed.retry-backoff:1s}") Duration retryBackoff) {
+        this(template.changeStream(Taco.class)
+            .withOptions(options -> options.returnFullDocumentOnUpdate())
+            .watchCollection(Taco.class)
+            .listen()
+            .map(TacoFeed::toChange), replay, retryBackoff);
+    }
+
+    TacoFeed(Flux<TacoChange> source, int replay, Duration retryBackoff) {
+        this.source = source;
+        this.retryBackoff = retryBackoff;
+        this.sink = Sinks.many().replay().limit(replay);
+    }
+
+    /**
+     * Every change, for components that keep state derived from tacos
+     * (e.g. caches to invalidate); never overflows.
+     */
+    public Flux<TacoChange> changes() {
+        return Flux.defer(() -> {
+            connect();
+            return sink.asFlux();
+        });
+    }
+
+    /**
+     * {@link #changes()} for remote subscribers, which must not hold
+     * events back for everyone else when they fall behind.
+     */
+    public Flux<TacoChange> feed(FeedOverflow overflow) {
+        return overflow == FeedOverflow.DROP ? changes().onBackpressureDrop() : changes().onBackpressureLatest();
+    }
+
+    public int subscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+
+    @Override
+    public void destroy() {
+        Disposable current = upstream;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private void connect() {
+        if (connected.compareAndSet(false, true)) {
+            upstream = source
+                .doOnError(e -> log.warn("Taco change stream failed, reopening: {}", e.toString()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, retryBackoff).maxBackoff(retryBackoff.multipliedBy(60)))
+                .subscribe(change -> sink.emitNext(change, RETRY_NON_SERIALIZED));
+        }
+    }
+
+    private static TacoChange toChange(ChangeStreamEvent<Taco> event) {
+        String operation = event.getOperationType() != null
+            ? event.getOperationType().getValue() : "unknown";
+        Taco taco = event.getBody();
+        String id = taco != null ? taco.getId() : null;
+        if (id == null && event.getRaw() != null && event.getRaw().getDocumentKey() != null) {
+            BsonValue key = event.getRaw().getDocumentKey().get("_id");
+            id = key != null && key.isObjectId() ? key.asObjectId().getValue().toHexString() : String.valueOf(key);
+        }
+        return new TacoChange(operation, id, taco);
+    }
+}
@@ -0,0 +1,217 @@
+package com.orvillex.reactordemo.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory reverse index of {@code taco_ingredients}: per ingredient, the
+ * ids of the tacos using it in a sorted {@code long[]}. Membership is a
+ * binary search and "tacos with all of X and Y" a galloping merge driven by
+ * the shortest list; counting never materializes the result, and no taco id
+ * is ever boxed. The heap cost is 8 bytes per link plus the spare capacity
+ * of each array, which {@link #trim()} releases after a bulk load.
+ * <p>
+ * Links are only ever added: the schema has no way to take an ingredient
+ * out of a saved taco, so {@link #add} is idempotent and may race with a
+ * load.
+ */
+@Component
+public class TacoIngredientIndex {
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long links;
+
+    public void add(long taco, long ingredient) {
+        lock.writeLock().lock();
+        try {
+            if (postings.computeIfAbsent(ingredient, i -> new Postings()).add(taco)) {
+                links++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long ingredient, long taco) {
+        lock.readLock().lock();
+        try {
+            Postings list = postings.get(ingredient);
+            return list != null && list.contains(taco);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of tacos using every one of the ingredients.
+     */
+    public int count(long[] ingredients) {
+        lock.readLock().lock();
+        try {
+            Postings[] lists = lists(ingredients);
+            return lists == null ? 0 : intersect(lists, Long.MIN_VALUE, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the tacos using every one of the ingredients, ascending,
+     * starting after the taco id {@code after}.
+     */
+    public long[] tacos(long[] ingredients, long after, int limit) {
+        lock.readLock().lock();
+        try {
+            Postings[] lists = lists(ingredients);
+            if (lists == null || limit <= 0) {
+                return new long[0];
+            }
+            long[] found = new long[Math.min(limit, lists[0].size)];
+            int count = intersect(lists, after, found);
+            return count == found.length ? found : Arrays.copyOf(found, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long links() {
+        lock.readLock().lock();
+        try {
+            return links;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Shrinks every list to its size.
+     */
+    public void trim() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(Postings::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The lists of the ingredients, shortest first, or {@code null} when the
+     * intersection is empty for sure.
+     */
+    private Postings[] lists(long[] ingredients) {
+        if (ingredients.length == 0) {
+            return null;
+        }
+        Postings[] lists = new Postings[ingredients.length];
+        for (int i = 0; i < ingredients.length; i++) {
+            lists[i] = postings.get(ingredients[i]);
+            if (lists[i] == null || lists[i].size == 0) {
+                return null;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        return lists;
+    }
+
+    /**
+     * Walks the shortest list and looks every taco up in the others, whose
+     * cursors only move forward. Fills {@code found} up to its length, or
+     * just counts when it is {@code null}.
+     */
+    private static int intersect(Postings[] lists, long after, long[] found) {
+        Postings shortest = lists[0];
+        int[] cursors = new int[lists.length];
+        int count = 0;
+        int start = after == Long.MAX_VALUE ? shortest.size : shortest.lowerBound(after + 1, 0);
+        for (int i = start; i < shortest.size; i++) {
+            long taco = shortest.tacos[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.length; j++) {
+                int at = lists[j].lowerBound(taco, cursors[j]);
+                if (at == lists[j].size) {
+                    return count;
+                }
+                cursors[j] = at;
+                if (lists[j].tacos[at] != taco) {
+                    inAll = false;
+                    break;
+                }
+            }
+            if (inAll) {
+                if (found != null) {
+                    found[count] = taco;
+                }
+                count++;
+                if (found != null && count == found.length) {
+                    return count;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static final class Postings {
+        private long[] tacos = new long[4];
+        private int size;
+
+        /**
+         * @return {@code false} when the taco was already listed
+         */
+        private boolean add(long taco) {
+            int at = size == 0 || tacos[size - 1] < taco ? size : lowerBound(taco, 0);
+            if (at < size && tacos[at] == taco) {
+                return false;
+            }
+            if (size == tacos.length) {
+                tacos = Arrays.copyOf(tacos, size + (size >> 1) + 1);
+            }
+            System.arraycopy(tacos, at, tacos, at + 1, size - at);
+            tacos[at] = taco;
+            size++;
+            return true;
+        }
+
+        private boolean contains(long taco) {
+            int at = lowerBound(taco, 0);
+            return at < size && tacos[at] == taco;
+        }
+
+        /**
+         * First index at or after {@code from} holding a value not below
+         * {@code value}: gallops forward, then binary searches the last step.
+         */
+        private int lowerBound(long value, int from) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < size && tacos[high] < value) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (tacos[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void trim() {
+            if (tacos.length > size) {
+                tacos = Arrays.copyOf(tacos, size);
+            }
+        }
+    }
+}
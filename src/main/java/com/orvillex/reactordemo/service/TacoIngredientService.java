@@ -0,0 +1,131 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+
+import com.orvillex.reactordemo.domain.TacoIngredients;
+import com.orvillex.reactordemo.repository.mysql.TacoIngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.TacoIngredientRow;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads tacos together with their ingredients from one joined query. Rows are
+ * regrouped per taco as they stream in, and ingredient ids are resolved
+ * through {@link IngredientService#findById}, i.e. the ingredient cache with
+ * batched IN queries on a miss, so no per-taco ingredient query is issued.
+ * Saved tacos are counted into {@link IngredientPopularity} and added to
+ * {@link TacoIngredientIndex}, which answers "which tacos use these
+ * ingredients" without touching the join table.
+ */
+@Slf4j
+@Service
+public class TacoIngredientService {
+    private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+
+    private final TacoIngredientRepository repository;
+    private final IngredientService ingredients;
+    private final IngredientPopularity popularity;
+    private final TacoIngredientIndex index;
+    private final int concurrency;
+    private final Mono<Void> indexLoad;
+
+    @Autowired
+    public TacoIngredientService(TacoIngredientRepository repository, IngredientService ingredients,
+            IngredientPopularity popularity, TacoIngredientIndex index,
+            @Value("${taco.ingredients.concurrency:32}") int concurrency) {
+        this.repository = repository;
+        this.ingredients = ingredients;
+        this.popularity = popularity;
+        this.index = index;
+        this.concurrency = concurrency;
+        this.indexLoad = Flux.defer(repository::findLinks)
+            .doOnNext(row -> index.add(row.getTaco(), row.getIngredient()))
+            .then(Mono.fromRunnable(index::trim))
+            .doOnSuccess(v -> log.info("Loaded {} taco ingredient links", index.links()))
+            .then()
+            .cache(v -> FOREVER, e -> Duration.ZERO, () -> FOREVER);
+    }
+
+    /**
+     * Builds the index at startup instead of on the first query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        indexLoad.subscribe(null, e -> log.warn("Taco ingredient index not loaded, retrying on first query", e));
+    }
+
+    public Flux<TacoIngredients> findAll() {
+        return regroup(repository.findAll());
+    }
+
+    public Flux<TacoIngredients> findAfter(Long id, int limit) {
+        return regroup(repository.findAfter(id, limit));
+    }
+
+    /**
+     * Saves a taco referencing existing ingredients by id; fails with
+     * {@link IllegalArgumentException} when one of them does not exist.
+     */
+    public Mono<TacoIngredients> save(TacoIngredients taco) {
+        List<Long> ids = taco.getIngredients() == null ? List.of()
+            : taco.getIngredients().stream().map(Ingredient::getId).collect(Collectors.toList());
+        Date createdAt = taco.getCreatedAt() == null ? new Date() : taco.getCreatedAt();
+        return Flux.fromIterable(ids)
+            .flatMapSequential(id -> ingredients.findById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Unknown ingredient " + id))))
+            .collectList()
+            .flatMap(resolved -> repository.insert(taco.getName(), createdAt, ids)
+                .map(id -> new TacoIngredients(id, taco.getName(), createdAt, resolved)))
+            .doOnNext(saved -> {
+                popularity.record(saved.getIngredients());
+                ids.forEach(id -> index.add(saved.getId(), id));
+            });
+    }
+
+    /**
+     * Ids of the tacos using every one of the ingredients, ascending, after
+     * the taco id {@code after}.
+     */
+    public Mono<long[]> findTacosWithAll(long[] ingredientIds, long after, int limit) {
+        return indexLoad.then(Mono.fromSupplier(() -> index.tacos(ingredientIds, after, limit)));
+    }
+
+    public Mono<Integer> countTacosWithAll(long[] ingredientIds) {
+        return indexLoad.then(Mono.fromSupplier(() -> index.count(ingredientIds)));
+    }
+
+    public Mono<Boolean> usesIngredient(long taco, long ingredientId) {
+        return indexLoad.then(Mono.fromSupplier(() -> index.contains(ingredientId, taco)));
+    }
+
+    public Flux<List<PopularityWindow>> popularity() {
+        return popularity.updates();
+    }
+
+    private Flux<TacoIngredients> regroup(Flux<TacoIngredientRow> rows) {
+        return rows.bufferUntilChanged(TacoIngredientRow::getTaco)
+            .flatMapSequential(this::resolve, concurrency);
+    }
+
+    private Mono<TacoIngredients> resolve(List<TacoIngredientRow> rows) {
+        TacoIngredientRow first = rows.get(0);
+        return Flux.fromIterable(rows)
+            .filter(row -> row.getIngredient() != null)
+            .flatMapSequential(row -> ingredients.findById(row.getIngredient()))
+            .collectList()
+            .map(resolved -> new TacoIngredients(first.getTaco(), first.getName(), first.getCreatedAt(), resolved));
+    }
+}
@@ -0,0 +1,54 @@
+package com.orvillex.reactordemo.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Rolling per-key counts over a sliding time window, kept as a ring of
+ * {@code buckets} sub-window buckets. Writes and reads only touch the ring,
+ * so the cost of a snapshot does not depend on how many events were counted.
+ */
+public class WindowedCounter<K> {
+    private final long bucketNanos;
+    private final LongSupplier nanoTime;
+    private final long[] epochs;
+    private final Map<K, Long>[] counts;
+
+    @SuppressWarnings("unchecked")
+    public WindowedCounter(Duration window, int buckets, LongSupplier nanoTime) {
+        this.bucketNanos = Math.max(1, window.toNanos() / buckets);
+        this.nanoTime = nanoTime;
+        this.epochs = new long[buckets];
+        this.counts = new Map[buckets];
+        for (int i = 0; i < buckets; i++) {
+            epochs[i] = Long.MIN_VALUE;
+            counts[i] = new HashMap<>();
+        }
+    }
+
+    public synchronized void add(K key, long delta) {
+        long epoch = Math.floorDiv(nanoTime.getAsLong(), bucketNanos);
+        int slot = (int) Math.floorMod(epoch, (long) epochs.length);
+        if (epochs[slot] != epoch) {
+            epochs[slot] = epoch;
+            counts[slot].clear();
+        }
+        counts[slot].merge(key, delta, Long::sum);
+    }
+
+    /**
+     * @return the counts of the buckets still inside the window
+     */
+    public synchronized Map<K, Long> snapshot() {
+        long current = Math.floorDiv(nanoTime.getAsLong(), bucketNanos);
+        Map<K, Long> total = new HashMap<>();
+        for (int i = 0; i < epochs.length; i++) {
+            if (epochs[i] != Long.MIN_VALUE && current - epochs[i] < epochs.length) {
+                counts[i].forEach((key, count) -> total.merge(key, count, Long::sum));
+            }
+        }
+        return total;
+    }
+}
@@ -1,9 +1,3 @@
-DELETE FROM Taco_Order_Tacos;
-DELETE FROM taco_ingredients;
-DELETE FROM Taco;
-DELETE FROM Taco_Order;
-DELETE FROM Ingredient;
-
 INSERT INTO Ingredient(id, name, type) values (1, 'Flour Tortilla', 'WRAP');
 INSERT INTO Ingredient(id, name, type) values (2, 'Corn Tortilla', 'WRAP');
 INSERT INTO Ingredient(id, name, type) values (3, 'Ground Beef', 'PROTEIN');
@@ -10,6 +10,8 @@ CREATE TABLE IF NOT EXISTS Taco(
     createdAt TIMESTAMP NOT NULL
 );
 
+CREATE SEQUENCE IF NOT EXISTS Taco_Seq;
+
 CREATE TABLE IF NOT EXISTS taco_ingredients (
     taco BIGINT NOT NULL,
     ingredient BIGINT NOT NULL
@@ -31,6 +33,8 @@ CREATE TABLE IF NOT EXISTS Taco_Order (
     placedAt TIMESTAMP NOT NULL
 );
 
+CREATE SEQUENCE IF NOT EXISTS Taco_Order_Seq;
+
 CREATE TABLE IF NOT EXISTS Taco_Order_Tacos (
     tacoOrder BIGINT NOT NULL,
     taco BIGINT NOT NULL
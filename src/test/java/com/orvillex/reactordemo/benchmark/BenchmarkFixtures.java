@@ -0,0 +1,78 @@
+package com.orvillex.reactordemo.benchmark;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import com.orvillex.reactordemo.config.CodecConfiguration;
+import com.orvillex.reactordemo.config.SchemaBootstrap;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientUpsertRepository;
+import com.orvillex.reactordemo.rest.IngredientController;
+import com.orvillex.reactordemo.rest.SerializedResponseCache;
+import com.orvillex.reactordemo.service.IngredientCache;
+import com.orvillex.reactordemo.service.IngredientLoader;
+import com.orvillex.reactordemo.service.IngredientNameIndex;
+import com.orvillex.reactordemo.service.IngredientService;
+import com.orvillex.reactordemo.service.IngredientWriter;
+import com.orvillex.reactordemo.support.InMemoryTacoRepository;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import reactor.core.publisher.Flux;
+
+/**
+ * Wires the application components by hand against an embedded H2 database
+ * and {@link InMemoryTacoRepository}, without starting a Spring context.
+ */
+final class BenchmarkFixtures {
+    static final int TACOS = 10_000;
+    static final String[] TACO_NAMES = { "Mysql", "Mongodb", "Redis", "Postgres" };
+
+    private BenchmarkFixtures() {
+    }
+
+    static ConnectionPool h2() {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+            .builder(ConnectionFactories.get("r2dbc:h2:mem:///bench-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1"))
+            .initialSize(4)
+            .maxSize(8)
+            .build());
+        new SchemaBootstrap("classpath:db/migration/V*__*.sql", new ClassPathResource("db/data.sql"))
+            .populate(pool)
+            .block();
+        return pool;
+    }
+
+    static IngredientRepository ingredientRepository(ConnectionPool pool) {
+        return new R2dbcRepositoryFactory(new R2dbcEntityTemplate(pool)).getRepository(IngredientRepository.class);
+    }
+
+    static IngredientController ingredientController(ConnectionPool pool) {
+        IngredientRepository repository = ingredientRepository(pool);
+        return new IngredientController(new IngredientService(repository,
+            new IngredientCache(1000, Duration.ofMinutes(10)),
+            new IngredientLoader(repository, Duration.ofMillis(2), 100, 4),
+            new IngredientNameIndex(),
+            new IngredientWriter(new IngredientUpsertRepository(DatabaseClient.create(pool)), Duration.ofMillis(2), 100, 4)),
+            new SerializedResponseCache(Jackson2ObjectMapperBuilder.json().build(),
+                CodecConfiguration.smileEncoder(CodecConfiguration.smileMapper(Jackson2ObjectMapperBuilder.json())),
+                Duration.ofMinutes(10)));
+    }
+
+    static InMemoryTacoRepository tacoRepository() {
+        InMemoryTacoRepository repository = new InMemoryTacoRepository();
+        Flux.range(0, TACOS)
+            .map(i -> new Taco(null, TACO_NAMES[i % TACO_NAMES.length], "Remark " + i))
+            .as(repository::saveAll)
+            .blockLast();
+        return repository;
+    }
+}
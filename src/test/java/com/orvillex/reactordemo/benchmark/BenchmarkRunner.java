@@ -0,0 +1,31 @@
+package com.orvillex.reactordemo.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark in this package with the GC profiler and writes the
+ * results to {@code target/jmh-result.json}. JMH command line options (e.g. a
+ * benchmark name regex, {@code -f}, {@code -i}) override the defaults:
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="Repository -i 3"
+ * </pre>
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+        }
+        options.parent(commandLine)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-result.json");
+        new Runner(options.build()).run();
+    }
+}
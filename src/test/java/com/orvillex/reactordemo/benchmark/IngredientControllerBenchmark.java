@@ -0,0 +1,76 @@
+package com.orvillex.reactordemo.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.r2dbc.pool.ConnectionPool;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngredientControllerBenchmark {
+    private ConnectionPool pool;
+    private WebTestClient client;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.h2();
+        client = WebTestClient.bindToController(
+            BenchmarkFixtures.ingredientController(pool)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.dispose();
+    }
+
+    @Benchmark
+    public byte[] getAll() {
+        return client.get().uri("/ingredient")
+            .exchange()
+            .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] find() {
+        return client.get().uri("/ingredient/{id}", ThreadLocalRandom.current().nextLong(1, 11))
+            .exchange()
+            .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] search() {
+        return client.get().uri("/ingredient/search?q=tor")
+            .exchange()
+            .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] save() {
+        return client.post().uri("/ingredient")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new Ingredient(10l, "Sour Cream", Type.SAUCE))
+            .exchange()
+            .expectBody().returnResult().getResponseBodyContent();
+    }
+}
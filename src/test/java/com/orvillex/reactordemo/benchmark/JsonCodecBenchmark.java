@@ -0,0 +1,88 @@
+package com.orvillex.reactordemo.benchmark;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orvillex.reactordemo.config.CodecConfiguration;
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Order;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+    @Param({ "json", "smile" })
+    private String format;
+
+    private ObjectMapper mapper;
+    private Taco taco;
+    private Ingredient ingredient;
+    private Order order;
+    private byte[] tacoJson;
+    private byte[] ingredientJson;
+    private byte[] orderJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = "smile".equals(format)
+            ? CodecConfiguration.smileMapper(Jackson2ObjectMapperBuilder.json())
+            : Jackson2ObjectMapperBuilder.json().build();
+        taco = new Taco("5ff6c5b1e4b0a1b2c3d4e5f6", "Mysql", "MySql Remark");
+        ingredient = new Ingredient(1l, "Flour Tortilla", Type.WRAP);
+        order = new Order(1l, "Alice", "1 Main St", "Springfield", "IL", "62701",
+            "4111111111111111", "12/25", "123", new Date(), List.of(1l, 2l));
+        tacoJson = mapper.writeValueAsBytes(taco);
+        ingredientJson = mapper.writeValueAsBytes(ingredient);
+        orderJson = mapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] writeTaco() throws Exception {
+        return mapper.writeValueAsBytes(taco);
+    }
+
+    @Benchmark
+    public Taco readTaco() throws Exception {
+        return mapper.readValue(tacoJson, Taco.class);
+    }
+
+    @Benchmark
+    public byte[] writeIngredient() throws Exception {
+        return mapper.writeValueAsBytes(ingredient);
+    }
+
+    @Benchmark
+    public Ingredient readIngredient() throws Exception {
+        return mapper.readValue(ingredientJson, Ingredient.class);
+    }
+
+    @Benchmark
+    public byte[] writeOrder() throws Exception {
+        return mapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Order readOrder() throws Exception {
+        return mapper.readValue(orderJson, Order.class);
+    }
+}
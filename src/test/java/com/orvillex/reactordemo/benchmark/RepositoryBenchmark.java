@@ -0,0 +1,81 @@
+package com.orvillex.reactordemo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import io.r2dbc.pool.ConnectionPool;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    private ConnectionPool pool;
+    private IngredientRepository ingredients;
+    private TacoRepository tacos;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.h2();
+        ingredients = BenchmarkFixtures.ingredientRepository(pool);
+        tacos = BenchmarkFixtures.tacoRepository();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.dispose();
+    }
+
+    @Benchmark
+    public Ingredient ingredientFindById() {
+        return ingredients.findById(ThreadLocalRandom.current().nextLong(1, 11)).block();
+    }
+
+    @Benchmark
+    public List<Ingredient> ingredientFindByTypeOrderByName() {
+        return ingredients.findByTypeOrderByName(Type.WRAP, PageRequest.of(0, 10)).collectList().block();
+    }
+
+    @Benchmark
+    public List<Ingredient> ingredientFindByNameContaining() {
+        return ingredients.findByNameContaining("o", Sort.by("id")).collectList().block();
+    }
+
+    @Benchmark
+    public List<Ingredient> ingredientFindByNameContainingAndType() {
+        return ingredients.findByNameContainingAndType("a", Type.SAUCE).collectList().block();
+    }
+
+    @Benchmark
+    public List<Taco> tacoFindByNameOrderByRemark() {
+        return tacos.findByNameOrderByRemark("Mysql", PageRequest.of(0, 20)).collectList().block();
+    }
+
+    @Benchmark
+    public List<Taco> tacoFindByRemarkContaining() {
+        return tacos.findByRemarkContaining("99", Sort.by("id")).collectList().block();
+    }
+}
@@ -0,0 +1,63 @@
+package com.orvillex.reactordemo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.rest.TacoRouteFunctionConfig;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TacoRouteBenchmark {
+    private WebTestClient client;
+
+    @Setup
+    public void setUp() {
+        TacoRouteFunctionConfig config = new TacoRouteFunctionConfig();
+        ReflectionTestUtils.setField(config, "repository", BenchmarkFixtures.tacoRepository());
+        client = WebTestClient.bindToRouterFunction(config.routerFunctions())
+            .configureClient()
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+            .build();
+    }
+
+    @Benchmark
+    public byte[] getAll() {
+        return client.get().uri("/taco")
+            .exchange()
+            .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] getPage() {
+        return client.get().uri("/taco/page?name=Mysql&size=20")
+            .exchange()
+            .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] save() {
+        return client.post().uri("/taco")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new Taco(null, "Mysql", "MySql Remark"))
+            .exchange()
+            .expectBody().returnResult().getResponseBodyContent();
+    }
+}
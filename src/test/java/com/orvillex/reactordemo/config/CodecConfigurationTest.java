@@ -0,0 +1,45 @@
+package com.orvillex.reactordemo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Order;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+public class CodecConfigurationTest {
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = CodecConfiguration.smileMapper(Jackson2ObjectMapperBuilder.json());
+
+    @Test
+    public void encodesTypeAsCodeAndRoundTrips() throws Exception {
+        Ingredient ingredient = new Ingredient(1l, "Flour Tortilla", Type.WRAP);
+        byte[] encoded = smile.writeValueAsBytes(ingredient);
+
+        assertEquals(ingredient, smile.readValue(encoded, Ingredient.class));
+        assertEquals(Type.WRAP.getCode(), smile.readTree(encoded).get("type").intValue());
+        assertTrue(encoded.length < json.writeValueAsBytes(ingredient).length);
+    }
+
+    @Test
+    public void readsTypeByName() throws Exception {
+        byte[] encoded = smile.writeValueAsBytes(json.readTree("{\"id\":2,\"name\":\"Salsa\",\"type\":\"SAUCE\"}"));
+
+        assertEquals(new Ingredient(2l, "Salsa", Type.SAUCE), smile.readValue(encoded, Ingredient.class));
+    }
+
+    @Test
+    public void roundTripsOrders() throws Exception {
+        Order order = new Order(1l, "Alice", "1 Main St", "Springfield", "IL", "62701",
+            "4111111111111111", "12/25", "123", new Date(), List.of(1l, 2l));
+
+        assertEquals(order, smile.readValue(smile.writeValueAsBytes(order), Order.class));
+    }
+}
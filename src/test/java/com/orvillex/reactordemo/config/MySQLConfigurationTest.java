@@ -0,0 +1,39 @@
+package com.orvillex.reactordemo.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+public class MySQLConfigurationTest {
+    @Autowired
+    ConnectionFactory connectionFactory;
+
+    @Autowired
+    IngredientRepository repository;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    public void poolsAndInstrumentsConnections() {
+        assertTrue(connectionFactory instanceof ConnectionPool);
+
+        StepVerifier.create(repository.findById(7l)).expectNextCount(1).verifyComplete();
+
+        assertNotNull(registry.find("r2dbc.pool.acquired").gauge());
+        assertNotNull(registry.find("r2dbc.pool.pending").gauge());
+        assertTrue(registry.get("r2dbc.pool.acquire").tag("outcome", "success").timer().count() > 0);
+        assertTrue(registry.get("repository.invocations").tags("method", "findById", "store", "r2dbc").timer().count() > 0);
+    }
+}
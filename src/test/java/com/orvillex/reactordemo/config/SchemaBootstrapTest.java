@@ -0,0 +1,57 @@
+package com.orvillex.reactordemo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+
+public class SchemaBootstrapTest {
+    private ConnectionFactory connectionFactory;
+    private DatabaseClient client;
+    private SchemaBootstrap bootstrap;
+
+    @BeforeEach
+    public void setUp() {
+        connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///bootstrap-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        client = DatabaseClient.create(connectionFactory);
+        bootstrap = new SchemaBootstrap("classpath:db/migration/V*__*.sql", new ClassPathResource("db/data.sql"));
+    }
+
+    @Test
+    public void appliesMigrationsAndSeedsEmptyDatabase() {
+        bootstrap.populate(connectionFactory).block();
+
+        assertEquals(1l, count("SELECT COUNT(*) FROM schema_version WHERE version = 1"));
+        assertEquals(10l, count("SELECT COUNT(*) FROM Ingredient"));
+    }
+
+    @Test
+    public void keepsExistingDataOnRestart() {
+        bootstrap.populate(connectionFactory).block();
+        client.sql("DELETE FROM Ingredient WHERE type = 'WRAP'").fetch().rowsUpdated().block();
+
+        bootstrap.populate(connectionFactory).block();
+
+        assertEquals(1l, count("SELECT COUNT(*) FROM schema_version"));
+        assertEquals(8l, count("SELECT COUNT(*) FROM Ingredient"));
+    }
+
+    @Test
+    public void rejectsBadlyNamedMigrations() {
+        assertThrows(IllegalStateException.class,
+            () -> SchemaBootstrap.migrations(new PathMatchingResourcePatternResolver(), "classpath:db/data.sql"));
+    }
+
+    private long count(String sql) {
+        return client.sql(sql).map(row -> ((Number) row.get(0)).longValue()).one().block();
+    }
+}
@@ -0,0 +1,58 @@
+package com.orvillex.reactordemo.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimitTest {
+    private static final long MS = 1_000_000l;
+
+    @Test
+    public void rejectsBeyondTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 0.2, 1.5, 100);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(-1);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    public void shrinksWhenLatencyRisesAndGrowsBackWhenItRecovers() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 200, 0.2, 1.5, 600);
+        run(limit, 40, 100, 10 * MS);
+        int steady = limit.getLimit();
+        assertTrue(steady >= 50, "limit " + steady);
+
+        run(limit, 40, 5, 100 * MS);
+        int congested = limit.getLimit();
+        assertTrue(congested < steady / 2, "limit " + congested);
+
+        run(limit, congested, 200, 10 * MS);
+        assertTrue(limit.getLimit() > congested, "limit " + limit.getLimit());
+    }
+
+    @Test
+    public void doesNotGrowWhileMostlyIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 200, 0.2, 1.5, 600);
+        run(limit, 1, 100, 10 * MS);
+
+        assertEquals(50, limit.getLimit());
+    }
+
+    private static void run(AdaptiveConcurrencyLimit limit, int concurrency, int rounds, long rtt) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (acquired < concurrency && limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rtt);
+            }
+        }
+    }
+}
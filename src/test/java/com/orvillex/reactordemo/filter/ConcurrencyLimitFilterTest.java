@@ -0,0 +1,118 @@
+package com.orvillex.reactordemo.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.orvillex.reactordemo.config.ConcurrencyLimitProperties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class ConcurrencyLimitFilterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void shedsRequestsBeyondTheLimitWithRetryAfter() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(), registry);
+        Disposable pending = filter.filter(exchange("/taco"), e -> Mono.never()).subscribe();
+
+        MockServerWebExchange shed = exchange("/taco/page");
+        StepVerifier.create(filter.filter(shed, e -> Mono.empty())).verifyComplete();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+        assertEquals("2", shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        MockServerWebExchange other = exchange("/ingredient");
+        StepVerifier.create(filter.filter(other, e -> Mono.empty())).verifyComplete();
+        assertNull(other.getResponse().getStatusCode());
+
+        pending.dispose();
+        MockServerWebExchange admitted = exchange("/taco");
+        StepVerifier.create(filter.filter(admitted, e -> Mono.empty())).verifyComplete();
+        assertNull(admitted.getResponse().getStatusCode());
+
+        assertEquals(2, registry.get("http.server.admission").tags("route", "/taco", "outcome", "accepted").counter().count());
+        assertEquals(1, registry.get("http.server.admission").tags("route", "/taco", "outcome", "rejected").counter().count());
+        assertEquals(1, registry.get("http.server.concurrency.limit").tag("route", "/taco").gauge().value());
+    }
+
+    @Test
+    public void letsOnlyStreamingGetsThrough() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(), registry);
+        Disposable pending = filter.filter(exchange("/taco"), e -> Mono.never()).subscribe();
+
+        MockServerWebExchange stream = MockServerWebExchange.from(MockServerHttpRequest.get("/taco")
+            .accept(MediaType.TEXT_EVENT_STREAM));
+        StepVerifier.create(filter.filter(stream, e -> Mono.empty())).verifyComplete();
+        assertNull(stream.getResponse().getStatusCode());
+
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/taco")
+            .accept(MediaType.APPLICATION_NDJSON));
+        StepVerifier.create(filter.filter(post, e -> Mono.empty())).verifyComplete();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, post.getResponse().getStatusCode());
+
+        MockServerWebExchange page = MockServerWebExchange.from(MockServerHttpRequest.get("/taco/page")
+            .accept(MediaType.TEXT_EVENT_STREAM));
+        StepVerifier.create(filter.filter(page, e -> Mono.empty())).verifyComplete();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, page.getResponse().getStatusCode());
+        pending.dispose();
+    }
+
+    @Test
+    public void neverLimitsFeedsOrWebSockets() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(), registry);
+        Disposable pending = filter.filter(exchange("/taco"), e -> Mono.never()).subscribe();
+
+        MockServerWebExchange feed = exchange("/taco/feed");
+        StepVerifier.create(filter.filter(feed, e -> Mono.empty())).verifyComplete();
+        assertNull(feed.getResponse().getStatusCode());
+
+        MockServerWebExchange upgrade = MockServerWebExchange.from(MockServerHttpRequest.get("/taco/feed/ws")
+            .header(HttpHeaders.UPGRADE, "websocket"));
+        StepVerifier.create(filter.filter(upgrade, e -> Mono.empty())).verifyComplete();
+        assertNull(upgrade.getResponse().getStatusCode());
+
+        assertEquals(1, registry.get("http.server.admission").tags("route", "/taco", "outcome", "accepted").counter().count());
+        pending.dispose();
+    }
+
+    @Test
+    public void neverLimitsPopularityWhateverItAccepts() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(), registry);
+        Disposable pending = filter.filter(exchange("/taco"), e -> Mono.never()).subscribe();
+
+        MockServerWebExchange popularity = MockServerWebExchange.from(MockServerHttpRequest.get("/taco/popularity")
+            .accept(MediaType.ALL));
+        StepVerifier.create(filter.filter(popularity, e -> Mono.empty())).verifyComplete();
+        assertNull(popularity.getResponse().getStatusCode());
+        pending.dispose();
+    }
+
+    private static ConcurrencyLimitProperties properties() {
+        ConcurrencyLimitProperties.Route taco = new ConcurrencyLimitProperties.Route();
+        taco.setPath("/taco");
+        taco.setInitialLimit(1);
+        taco.setMinLimit(1);
+        taco.setRetryAfter(Duration.ofSeconds(2));
+        ConcurrencyLimitProperties.Route ingredient = new ConcurrencyLimitProperties.Route();
+        ingredient.setPath("/ingredient");
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setRoutes(List.of(taco, ingredient));
+        return properties;
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
@@ -0,0 +1,145 @@
+package com.orvillex.reactordemo.load;
+
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.orvillex.reactordemo.ReactordemoApplication;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.support.InMemoryTacoRepository;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Open-model load generator: requests are started at a constant arrival
+ * rate whatever the response times, picked from a weighted mix of
+ * {@link Operation}s, and their latencies recorded in a {@link LoadReport}
+ * that is printed and written to {@code target/load-report.txt} (plus one
+ * {@code .hgrm} distribution per operation). Without {@code --target} the
+ * application is started in-process on a random port against its embedded
+ * H2 and an {@link InMemoryTacoRepository} standing in for Mongo:
+ *
+ * <pre>
+ * mvn -P load test-compile exec:exec -Dload.args="--rate=500 --duration=60s --mix=get-taco:70,post-taco:30"
+ * </pre>
+ *
+ * A status of 0 in the report means no response (connection error or
+ * client timeout).
+ */
+public class LoadGenerator {
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ConfigurableApplicationContext app = options.target.isEmpty() ? start() : null;
+        try {
+            String target = app != null
+                ? "http://localhost:" + ((ReactiveWebServerApplicationContext) app).getWebServer().getPort()
+                : options.target;
+            LoadReport report = new LoadGenerator().run(target, options);
+            report.writeDistributions(Paths.get("target"), "load-");
+            try (PrintStream file = new PrintStream("target/load-report.txt")) {
+                report.print(file, options, options.duration.toMillis() / 1000.0);
+            }
+            report.print(System.out, options, options.duration.toMillis() / 1000.0);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    LoadReport run(String target, LoadOptions options) {
+        ConnectionProvider connections = ConnectionProvider.builder("load")
+            .maxConnections(options.connections)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        WebClient client = WebClient.builder()
+            .baseUrl(target)
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+            .build();
+        Operation.Context context = new Operation.Context(new ConcurrentLinkedQueue<>(), options.payload);
+        LoadReport report = new LoadReport();
+        Operation[] weighted = weighted(options.mix);
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long period = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long recordFrom = start + options.warmup.toNanos();
+        long end = recordFrom + options.duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * period;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+            boolean recorded = intended >= recordFrom;
+            inFlight.incrementAndGet();
+            long sent = System.nanoTime();
+            operation.execute(client, context)
+                .timeout(options.timeout)
+                .onErrorReturn(0)
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .subscribe(status -> {
+                    if (recorded) {
+                        report.record(operation, intended, sent, System.nanoTime(), status);
+                    }
+                });
+        }
+        long drainUntil = System.nanoTime() + options.timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        connections.disposeLater().block(Duration.ofSeconds(5));
+        return report;
+    }
+
+    private static Operation[] weighted(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        Operation[] weighted = new Operation[total];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int n = 0; n < entry.getValue(); n++) {
+                weighted[i++] = entry.getKey();
+            }
+        }
+        return weighted;
+    }
+
+    private static ConfigurableApplicationContext start() {
+        InMemoryTacoRepository tacos = new InMemoryTacoRepository();
+        String[] names = { "Mysql", "Mongodb", "Redis", "Postgres" };
+        Flux.range(0, 10_000)
+            .map(i -> new Taco(null, names[i % names.length], "Remark " + i))
+            .as(tacos::saveAll)
+            .blockLast();
+        // a devtools restart would run main() again with default options
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(ReactordemoApplication.class)
+            .properties("server.port=0")
+            .initializers(context -> ((GenericApplicationContext) context).registerBean("loadTacoRepository",
+                TacoRepository.class, () -> tacos, definition -> definition.setPrimary(true)))
+            .run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.orvillex.reactordemo.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Command line options of {@link LoadGenerator}, given as {@code --name=value}.
+ */
+final class LoadOptions {
+    /** Base URL of a running instance; empty to start one in-process. */
+    String target = "";
+    /** Arrivals per second, independent of how fast responses come back. */
+    int rate = 200;
+    Duration duration = Duration.ofSeconds(30);
+    /** Initial period whose requests are sent but not recorded. */
+    Duration warmup = Duration.ofSeconds(5);
+    /** Characters in the remark of posted tacos. */
+    int payload = 64;
+    int connections = 500;
+    Duration timeout = Duration.ofSeconds(10);
+    Map<Operation, Integer> mix = new EnumMap<>(Map.of(
+        Operation.GET_TACO, 40,
+        Operation.GET_INGREDIENT, 40,
+        Operation.POST_TACO, 10,
+        Operation.POST_INGREDIENT, 5,
+        Operation.DELETE_INGREDIENT, 5));
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        LoadOptions options = new LoadOptions();
+        options.target = values.getOrDefault("target", options.target);
+        options.rate = Integer.parseInt(values.getOrDefault("rate", String.valueOf(options.rate)));
+        options.duration = duration(values.get("duration"), options.duration);
+        options.warmup = duration(values.get("warmup"), options.warmup);
+        options.payload = Integer.parseInt(values.getOrDefault("payload", String.valueOf(options.payload)));
+        options.connections = Integer.parseInt(values.getOrDefault("connections", String.valueOf(options.connections)));
+        options.timeout = duration(values.get("timeout"), options.timeout);
+        if (values.containsKey("mix")) {
+            options.mix = mix(values.get("mix"));
+        }
+        return options;
+    }
+
+    /**
+     * Parses weights such as {@code get-taco:80,post-taco:20}.
+     */
+    static Map<Operation, Integer> mix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT).replace('-', '_')),
+                Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    private static Duration duration(String value, Duration defaultValue) {
+        return value == null ? defaultValue : DurationStyle.detectAndParse(value);
+    }
+
+    @Override
+    public String toString() {
+        return "target=" + (target.isEmpty() ? "in-process" : target) + " rate=" + rate + "/s duration=" + duration
+            + " warmup=" + warmup + " payload=" + payload + " connections=" + connections + " mix=" + mix;
+    }
+}
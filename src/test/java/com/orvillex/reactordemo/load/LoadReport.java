@@ -0,0 +1,112 @@
+package com.orvillex.reactordemo.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies per {@link Operation}, in microseconds. The corrected histogram
+ * measures from the moment the request was scheduled to be sent, so time a
+ * request spent waiting behind a stalled one counts against the service
+ * (no coordinated omission); the uncorrected one measures from the actual
+ * send and is kept for comparison.
+ */
+final class LoadReport {
+    private static final long HIGHEST = TimeUnit.MINUTES.toMicros(5);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    void record(Operation operation, long intendedNanos, long sentNanos, long doneNanos, int status) {
+        Stats s = stats.get(operation);
+        s.corrected.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(doneNanos - intendedNanos), HIGHEST));
+        s.uncorrected.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(doneNanos - sentNanos), HIGHEST));
+        s.statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+    }
+
+    void print(PrintStream out, LoadOptions options, double seconds) {
+        out.println("Load: " + options);
+        out.printf("%-18s %8s %9s %8s | %9s %9s %9s %9s %9s | %9s %9s  %s%n", "operation", "count", "rate/s", "errors",
+            "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "raw p50", "raw p99", "statuses");
+        Histogram total = new Histogram(HIGHEST, 3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            Histogram corrected = s.corrected.copy();
+            if (corrected.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(corrected);
+            long errors = s.errors();
+            totalErrors += errors;
+            row(out, entry.getKey().label(), corrected, s.uncorrected.copy(), errors, seconds, new TreeMap<>(s.statuses));
+        }
+        row(out, "total", total, null, totalErrors, seconds, null);
+    }
+
+    /**
+     * Writes the corrected percentile distribution of every operation as
+     * {@code <prefix><operation>.hgrm}, in milliseconds, for HdrHistogram's
+     * plotter.
+     */
+    void writeDistributions(Path directory, String prefix) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Histogram corrected = entry.getValue().corrected.copy();
+            if (corrected.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    directory.resolve(prefix + entry.getKey().label() + ".hgrm")))) {
+                corrected.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static void row(PrintStream out, String label, Histogram corrected, Histogram uncorrected, long errors,
+            double seconds, Map<Integer, LongAdder> statuses) {
+        out.printf("%-18s %8d %9.1f %8d | %9.2f %9.2f %9.2f %9.2f %9.2f | %9s %9s  %s%n", label,
+            corrected.getTotalCount(), corrected.getTotalCount() / seconds, errors,
+            ms(corrected.getValueAtPercentile(50)), ms(corrected.getValueAtPercentile(90)),
+            ms(corrected.getValueAtPercentile(99)), ms(corrected.getValueAtPercentile(99.9)), ms(corrected.getMaxValue()),
+            uncorrected == null ? "" : String.format("%.2f", ms(uncorrected.getValueAtPercentile(50))),
+            uncorrected == null ? "" : String.format("%.2f", ms(uncorrected.getValueAtPercentile(99))),
+            statuses == null ? "" : statuses);
+    }
+
+    private static double ms(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static final class Stats {
+        private final Histogram corrected = new ConcurrentHistogram(HIGHEST, 3);
+        private final Histogram uncorrected = new ConcurrentHistogram(HIGHEST, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        private long errors() {
+            long errors = 0;
+            for (Map.Entry<Integer, LongAdder> status : statuses.entrySet()) {
+                if (status.getKey() / 100 != 2) {
+                    errors += status.getValue().sum();
+                }
+            }
+            return errors;
+        }
+    }
+}
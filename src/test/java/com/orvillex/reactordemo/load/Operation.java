@@ -0,0 +1,110 @@
+package com.orvillex.reactordemo.load;
+
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The requests {@link LoadGenerator} mixes. Deletes remove ingredients
+ * created by earlier posts, so the seeded catalog stays intact.
+ */
+enum Operation {
+    GET_TACO {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, Context context) {
+            return client.get().uri("/taco/page?name={name}&size=20", TACO_NAMES[(int) (context.sequence.get() % TACO_NAMES.length)]);
+        }
+    },
+    GET_INGREDIENT {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, Context context) {
+            return client.get().uri("/ingredient");
+        }
+    },
+    POST_TACO {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, Context context) {
+            long n = context.sequence.incrementAndGet();
+            return client.post().uri("/taco")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Taco(null, TACO_NAMES[(int) (n % TACO_NAMES.length)], context.remark));
+        }
+    },
+    POST_INGREDIENT {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, Context context) {
+            return client.post().uri("/ingredient")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Ingredient(null, "load-" + context.sequence.incrementAndGet(), Type.SAUCE));
+        }
+
+        @Override
+        void completed(Object body, Context context) {
+            if (body instanceof Ingredient) {
+                context.created.offer(((Ingredient) body).getId());
+            }
+        }
+
+        @Override
+        Class<?> bodyType() {
+            return Ingredient.class;
+        }
+    },
+    DELETE_INGREDIENT {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, Context context) {
+            Long id = context.created.poll();
+            return client.delete().uri("/ingredient/{id}", id != null ? id : Long.MAX_VALUE);
+        }
+    };
+
+    private static final String[] TACO_NAMES = { "Mysql", "Mongodb", "Redis", "Postgres" };
+
+    abstract WebClient.RequestHeadersSpec<?> request(WebClient client, Context context);
+
+    void completed(Object body, Context context) {
+    }
+
+    Class<?> bodyType() {
+        return byte[].class;
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * @return the response status
+     */
+    Mono<Integer> execute(WebClient client, Context context) {
+        return request(client, context).exchangeToMono(response -> {
+            int status = response.rawStatusCode();
+            if (status / 100 != 2) {
+                return response.releaseBody().thenReturn(status);
+            }
+            return response.bodyToMono(bodyType())
+                .doOnNext(body -> completed(body, context))
+                .then(Mono.just(status));
+        });
+    }
+
+    static final class Context {
+        final AtomicLong sequence = new AtomicLong();
+        final Queue<Long> created;
+        final String remark;
+
+        Context(Queue<Long> created, int payload) {
+            this.created = created;
+            this.remark = "x".repeat(Math.max(payload, 0));
+        }
+    }
+}
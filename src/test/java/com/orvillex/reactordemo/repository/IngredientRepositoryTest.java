@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,6 +21,9 @@ import reactor.test.StepVerifier;
 public class IngredientRepositoryTest {
     @Autowired
     IngredientRepository repository;
+
+    @Autowired
+    DatabaseClient client;
     
     @Test
     public void readsCountCorrectly() {
@@ -71,6 +75,13 @@ public class IngredientRepositoryTest {
             .verifyComplete();
     }
 
+    @Test
+    public void readsByTypeAfterCursorCorrectly() {
+        StepVerifier.create(repository.findByTypeAfter(Type.CHEESE.name(), "Cheddar", 7l, 10))
+            .expectNext(new Ingredient(8l, "Monterrey Jack", Type.CHEESE))
+            .verifyComplete();
+    }
+
     @Test
     public void readsByNameCorrectly() {
         StepVerifier.create(repository.findByNameContaining("sa", Sort.by("id").descending()))
@@ -91,4 +102,17 @@ public class IngredientRepositoryTest {
             .expectNext(2)
             .verifyComplete();
     }
+
+    @Test
+    public void deleteChunkByTypeCorrectly() {
+        client.sql("INSERT INTO Ingredient (name, type) VALUES ('Bulk A', 'BULK'), ('Bulk B', 'BULK'), ('Bulk C', 'BULK')")
+            .then()
+            .block();
+
+        StepVerifier.create(repository.deleteChunkByType("BULK", 2)
+                .concatWith(repository.deleteChunkByType("BULK", 2))
+                .concatWith(repository.deleteChunkByType("BULK", 2)))
+            .expectNext(2, 1, 0)
+            .verifyComplete();
+    }
 }
@@ -0,0 +1,57 @@
+package com.orvillex.reactordemo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.orvillex.reactordemo.config.SchemaBootstrap;
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mysql.IngredientUpsertRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.test.StepVerifier;
+
+public class IngredientUpsertRepositoryTest {
+    private DatabaseClient client;
+    private IngredientUpsertRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///upsert-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new SchemaBootstrap("classpath:db/migration/V*__*.sql", new ClassPathResource("db/data.sql"))
+            .populate(connectionFactory)
+            .block();
+        client = DatabaseClient.create(connectionFactory);
+        repository = new IngredientUpsertRepository(client);
+    }
+
+    @Test
+    public void insertsAndUpdatesInOneStatement() {
+        List<Ingredient> batch = List.of(new Ingredient(null, "Chips", Type.WRAP), new Ingredient(7l, "Aged Cheddar", Type.CHEESE),
+            new Ingredient(null, "Queso", Type.CHEESE));
+
+        StepVerifier.create(repository.upsertAll(batch))
+            .assertNext(saved -> {
+                assertEquals(3, saved.size());
+                assertEquals(11l, saved.get(0).getId());
+                assertEquals(7l, saved.get(1).getId());
+                assertEquals(new Ingredient(12l, "Queso", Type.CHEESE), saved.get(2));
+            })
+            .verifyComplete();
+
+        StepVerifier.create(repository.upsertAll(List.of(new Ingredient(9001l, "Pico de Gallo", Type.SAUCE))))
+            .expectNext(List.of(new Ingredient(9001l, "Pico de Gallo", Type.SAUCE)))
+            .verifyComplete();
+        StepVerifier.create(client.sql("SELECT name FROM Ingredient WHERE id = 9001").map(row -> row.get("name", String.class)).one())
+            .expectNext("Pico de Gallo")
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,78 @@
+package com.orvillex.reactordemo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Date;
+import java.util.List;
+
+import com.orvillex.reactordemo.domain.Order;
+import com.orvillex.reactordemo.repository.mysql.OrderRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+public class OrderRepositoryTest {
+    @Autowired
+    OrderRepository repository;
+
+    @Autowired
+    DatabaseClient client;
+
+    @BeforeEach
+    public void setUp() {
+        client.sql("MERGE INTO Taco (id, name, createdAt) KEY (id) VALUES (9001, 'Classic', CURRENT_TIMESTAMP), (9002, 'Veggie', CURRENT_TIMESTAMP)")
+            .then()
+            .block();
+    }
+
+    @Test
+    public void insertsBatchWithTacosInOneGo() {
+        List<Order> batch = List.of(order("Alice", List.of(9001l, 9002l)), order("Bob", List.of(9002l)));
+
+        StepVerifier.create(repository.insertAll(batch))
+            .assertNext(saved -> {
+                assertEquals(2, saved.size());
+                assertEquals("Alice", saved.get(0).getDeliveryName());
+                assertEquals("Bob", saved.get(1).getDeliveryName());
+                assertNotNull(saved.get(0).getId());
+                StepVerifier.create(countTacos(saved.get(0).getId())).expectNext(2l).verifyComplete();
+                StepVerifier.create(countTacos(saved.get(1).getId())).expectNext(1l).verifyComplete();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    public void rollsBackWholeBatchOnFailure() {
+        Long before = client.sql("SELECT COUNT(*) FROM Taco_Order").map(row -> row.get(0, Long.class)).one().block();
+        List<Order> batch = List.of(order("Alice", List.of(9001l)), order("Mallory", List.of(42l)));
+
+        StepVerifier.create(repository.insertAll(batch))
+            .expectError(DataIntegrityViolationException.class)
+            .verify();
+
+        StepVerifier.create(client.sql("SELECT COUNT(*) FROM Taco_Order").map(row -> row.get(0, Long.class)).one())
+            .expectNext(before)
+            .verifyComplete();
+    }
+
+    private Mono<Long> countTacos(Long order) {
+        return client.sql("SELECT COUNT(*) FROM Taco_Order_Tacos WHERE tacoOrder = :order")
+            .bind("order", order)
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    private static Order order(String name, List<Long> tacos) {
+        return new Order(null, name, "1 Main St", "Springfield", "IL", "62701",
+            "4111111111111111", "12/25", "123", new Date(), tacos);
+    }
+}
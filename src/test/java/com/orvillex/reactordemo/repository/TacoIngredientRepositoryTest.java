@@ -0,0 +1,70 @@
+package com.orvillex.reactordemo.repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import com.orvillex.reactordemo.config.SchemaBootstrap;
+import com.orvillex.reactordemo.repository.mysql.TacoIngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.TacoIngredientRow;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.test.StepVerifier;
+
+public class TacoIngredientRepositoryTest {
+    private DatabaseClient client;
+    private TacoIngredientRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///taco-ingredients-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new SchemaBootstrap("classpath:db/migration/V*__*.sql", new ClassPathResource("db/data.sql"))
+            .populate(connectionFactory)
+            .block();
+        client = DatabaseClient.create(connectionFactory);
+        repository = new TacoIngredientRepository(client, TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)));
+        client.sql("MERGE INTO Taco (id, name, createdAt) KEY (id) VALUES (9101, 'Classic', CURRENT_TIMESTAMP), "
+            + "(9102, 'Plain', CURRENT_TIMESTAMP), (9103, 'Veggie', CURRENT_TIMESTAMP)").then().block();
+        client.sql("INSERT INTO taco_ingredients (taco, ingredient) VALUES (9101, 3), (9101, 1), (9103, 6)").then().block();
+    }
+
+    @Test
+    public void streamsLinksInTacoOrder() {
+        StepVerifier.create(repository.findLinks()
+                .filter(row -> row.getTaco() >= 9101 && row.getTaco() <= 9103)
+                .map(row -> row.getTaco() + ":" + row.getIngredient()))
+            .expectNext("9101:1", "9101:3", "9103:6")
+            .verifyComplete();
+    }
+
+    @Test
+    public void streamsJoinedRowsGroupedByTaco() {
+        StepVerifier.create(repository.findAfter(9100l, 3).map(row -> row.getTaco() + ":" + row.getIngredient()))
+            .expectNext("9101:1", "9101:3", "9102:null", "9103:6")
+            .verifyComplete();
+    }
+
+    @Test
+    public void limitsTacosNotJoinedRows() {
+        StepVerifier.create(repository.findAfter(9100l, 1).map(TacoIngredientRow::getTaco))
+            .expectNext(9101l, 9101l)
+            .verifyComplete();
+    }
+
+    @Test
+    public void insertsTacoWithItsIngredients() {
+        Long id = repository.insert("Fresh", new Date(), List.of(2l, 5l)).block();
+
+        StepVerifier.create(repository.findAfter(id - 1, 1).map(row -> row.getName() + ":" + row.getIngredient()))
+            .expectNext("Fresh:2", "Fresh:5")
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,163 @@
+package com.orvillex.reactordemo.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class BulkheadTest {
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(2, 100, "bulkhead-test");
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    public void queuesThenRejectsBeyondLimits() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5), scheduler);
+        Sinks.One<String> first = Sinks.one();
+
+        StepVerifier.create(bulkhead.execute(first.asMono()))
+            .then(() -> assertEquals(1, bulkhead.getActive()))
+            .then(() -> StepVerifier.create(bulkhead.execute(Mono.just("second")))
+                .then(() -> {
+                    assertEquals(1, bulkhead.getQueued());
+                    StepVerifier.create(bulkhead.execute(Mono.just("third")))
+                        .verifyError(BulkheadFullException.class);
+                    first.tryEmitValue("first");
+                })
+                .expectNext("second")
+                .verifyComplete())
+            .expectNext("first")
+            .verifyComplete();
+
+        assertEquals(0, bulkhead.getActive());
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    public void timesOutAndReleasesPermit() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 0, Duration.ofMillis(50), scheduler);
+
+        StepVerifier.create(bulkhead.execute(Mono.never()))
+            .verifyError(TimeoutException.class);
+        StepVerifier.create(bulkhead.execute(Mono.just(1)))
+            .expectNext(1)
+            .verifyComplete();
+
+        assertEquals(1, bulkhead.getTimeouts());
+        assertEquals(0, bulkhead.getActive());
+    }
+
+    @Test
+    public void streamsReleasePermitAndIgnoreSlowConsumers() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 0, Duration.ofMillis(100), scheduler);
+
+        StepVerifier.create(bulkhead.execute(Flux.range(1, 3)), 1)
+            .expectNext(1)
+            .then(() -> {
+                assertEquals(0, bulkhead.getActive());
+                StepVerifier.create(bulkhead.execute(Mono.just(4))).expectNext(4).verifyComplete();
+            })
+            .thenAwait(Duration.ofMillis(300))
+            .thenRequest(2)
+            .expectNext(2, 3)
+            .verifyComplete();
+
+        StepVerifier.create(bulkhead.execute(Flux.never()))
+            .verifyError(TimeoutException.class);
+        assertEquals(0, bulkhead.getActive());
+    }
+
+    @Test
+    public void cancelledWaiterLeavesQueue() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5), scheduler);
+        Disposable holder = bulkhead.execute(Mono.never()).subscribe();
+        Disposable waiter = bulkhead.execute(Mono.just(1)).subscribe();
+        assertEquals(1, bulkhead.getQueued());
+
+        waiter.dispose();
+        assertEquals(0, bulkhead.getQueued());
+        holder.dispose();
+        assertEquals(0, bulkhead.getActive());
+    }
+
+    @Test
+    public void runsCallsOnBulkheadScheduler() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 0, Duration.ofSeconds(5), scheduler);
+
+        StepVerifier.create(bulkhead.execute(Mono.fromCallable(() -> Thread.currentThread().getName())))
+            .assertNext(thread -> assertTrue(thread.startsWith("bulkhead-test"), thread))
+            .verifyComplete();
+    }
+
+    @Test
+    public void repositoryBulkheadOverridesStore() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BulkheadInterceptor interceptor = new BulkheadInterceptor(registry);
+        Bulkhead store = new Bulkhead("r2dbc", 1, 0, Duration.ofSeconds(5), scheduler);
+        Bulkhead repository = new Bulkhead("IngredientRepository", 1, 0, Duration.ofSeconds(5), scheduler);
+        interceptor.addStore(RepositoryStore.R2DBC, store, scheduler);
+        interceptor.addRepository("IngredientRepository", repository, scheduler);
+
+        IngredientRepository ingredients = Mockito.mock(IngredientRepository.class);
+        when(ingredients.findById(1l)).thenReturn(Mono.never());
+        TacoRepository tacos = Mockito.mock(TacoRepository.class);
+        when(tacos.count()).thenReturn(Mono.just(2l));
+        IngredientRepository proxied = (IngredientRepository) RepositoryInterceptorPostProcessor
+            .proxy(ingredients, IngredientRepository.class, List.of(interceptor));
+        TacoRepository proxiedTacos = (TacoRepository) RepositoryInterceptorPostProcessor
+            .proxy(tacos, TacoRepository.class, List.of(interceptor));
+
+        Disposable pending = proxied.findById(1l).subscribe();
+        assertEquals(1, repository.getActive());
+        assertEquals(0, store.getActive());
+        StepVerifier.create(proxiedTacos.count()).expectNext(2l).verifyComplete();
+        pending.dispose();
+
+        assertEquals(0.0, registry.get("bulkhead.active").tag("name", "IngredientRepository").gauge().value());
+    }
+
+    @Test
+    public void proxiesRepositoryClasses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BulkheadInterceptor interceptor = new BulkheadInterceptor(registry);
+        interceptor.addRepository("OrderLookup", new Bulkhead("OrderLookup", 1, 0, Duration.ofSeconds(5), scheduler), scheduler);
+
+        OrderLookup proxied = (OrderLookup) RepositoryInterceptorPostProcessor
+            .proxyClass(new OrderLookup(), OrderLookup.class, List.of(interceptor));
+
+        StepVerifier.create(proxied.find())
+            .assertNext(ingredient -> assertTrue(Thread.currentThread().getName().startsWith("bulkhead-test")))
+            .verifyComplete();
+    }
+
+    static class OrderLookup {
+        Mono<Ingredient> find() {
+            return Mono.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.orvillex.reactordemo.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 0.5, 4, 4, Duration.ofSeconds(10), 2, now::get);
+
+    @Test
+    public void opensOnFailureRateAndRejectsWithoutCalling() {
+        succeed();
+        fail();
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        StepVerifier.create(breaker.execute(Mono.fromCallable(() -> {
+                throw new AssertionError("must not be called");
+            })))
+            .verifyError(CircuitBreakerOpenException.class);
+        assertEquals(1, breaker.getRejected());
+    }
+
+    @Test
+    public void halfOpensAfterOpenDurationAndClosesOnSuccessfulTrials() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        succeed();
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void reopensWhenATrialFails() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void countsOnlyBackendFailures() {
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(breaker.execute(Mono.error(new BulkheadFullException("r2dbc")))).verifyError();
+            StepVerifier.create(breaker.execute(Mono.error(new DataIntegrityViolationException("duplicate key")))).verifyError();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        StepVerifier.create(breaker.execute(Mono.error(new TimeoutException()))).verifyError();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void succeed() {
+        StepVerifier.create(breaker.execute(Mono.just(1))).expectNext(1).verifyComplete();
+    }
+
+    private void fail() {
+        StepVerifier.create(breaker.execute(Mono.error(new TransientDataAccessResourceException("down")))).verifyError();
+    }
+}
@@ -0,0 +1,118 @@
+package com.orvillex.reactordemo.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Order;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class QueryObservationInterceptorTest {
+    private final QueryObservationInterceptor interceptor = new QueryObservationInterceptor(Duration.ofMillis(50), 1, 2);
+
+    @AfterEach
+    public void tearDown() {
+        interceptor.destroy();
+    }
+
+    @Test
+    public void ranksShapesBySlowestCall() {
+        IngredientRepository ingredients = Mockito.mock(IngredientRepository.class);
+        when(ingredients.findById(1l)).thenReturn(Mono.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+        when(ingredients.findAll()).thenReturn(Flux.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP))
+            .delayElements(Duration.ofMillis(100)));
+        TacoRepository tacos = Mockito.mock(TacoRepository.class);
+        when(tacos.findAll()).thenReturn(Flux.just(new Taco("1", "Taco", null), new Taco("2", "Taco", null)));
+
+        IngredientRepository proxiedIngredients = (IngredientRepository) RepositoryInterceptorPostProcessor
+            .proxy(ingredients, IngredientRepository.class, List.of(interceptor));
+        TacoRepository proxiedTacos = (TacoRepository) RepositoryInterceptorPostProcessor
+            .proxy(tacos, TacoRepository.class, List.of(interceptor));
+
+        StepVerifier.create(proxiedIngredients.findById(1l)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(proxiedIngredients.findById(1l)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(proxiedIngredients.findAll()).expectNextCount(1).verifyComplete();
+        StepVerifier.create(proxiedTacos.findAll()).expectNextCount(2).verifyComplete();
+
+        List<QueryShape> slowest = interceptor.slowest(2);
+        assertEquals(2, slowest.size());
+        QueryShape first = slowest.get(0);
+        assertEquals("IngredientRepository.findAll", first.getShape());
+        assertEquals("r2dbc", first.getStore());
+        assertEquals(1, first.getSlowCalls());
+        assertTrue(first.getMaxMillis() >= 100, "max " + first.getMaxMillis());
+
+        assertEquals(List.of("IngredientRepository.findAll", "IngredientRepository.findById", "TacoRepository.findAll"),
+            interceptor.slowest(10).stream().map(QueryShape::getShape).sorted().collect(Collectors.toList()));
+        QueryShape findById = interceptor.slowest(10).stream()
+            .filter(shape -> shape.getShape().equals("IngredientRepository.findById")).findFirst().get();
+        assertEquals(2, findById.getCalls());
+        assertEquals(0, findById.getSlowCalls());
+
+        interceptor.reset();
+        assertTrue(interceptor.slowest(10).isEmpty());
+    }
+
+    @Test
+    public void timesStreamsToTheirFirstRow() {
+        TacoRepository tacos = Mockito.mock(TacoRepository.class);
+        when(tacos.findAll()).thenReturn(Flux.just(new Taco("1", "Taco", null), new Taco("2", "Taco", null)));
+        TacoRepository proxied = (TacoRepository) RepositoryInterceptorPostProcessor
+            .proxy(tacos, TacoRepository.class, List.of(interceptor));
+
+        StepVerifier.create(proxied.findAll(), 1)
+            .expectNextCount(1)
+            .thenAwait(Duration.ofMillis(100))
+            .thenRequest(1)
+            .expectNextCount(1)
+            .verifyComplete();
+
+        QueryShape findAll = interceptor.slowest(1).get(0);
+        assertEquals(1, findAll.getCalls());
+        assertEquals(0, findAll.getSlowCalls());
+    }
+
+    @Test
+    public void logsOnlyScalarArguments() {
+        Order order = new Order(1l, "Ada", "1 Main St", "Springfield", "IL", "62701", "4111111111111111", "12/30", "123", null,
+            List.of(1l));
+
+        String described = QueryObservationInterceptor.describe(new Object[] { 7l, Type.WRAP, new ArrayList<>(List.of(order)), order, null });
+
+        assertEquals("[7, WRAP, ArrayList(1), Order, null]", described);
+        assertFalse(described.contains("4111"));
+    }
+
+    @Test
+    public void dropsLogRecordsRatherThanBlocking() {
+        IngredientRepository ingredients = Mockito.mock(IngredientRepository.class);
+        when(ingredients.count()).thenReturn(Mono.just(3l));
+        IngredientRepository proxied = (IngredientRepository) RepositoryInterceptorPostProcessor
+            .proxy(ingredients, IngredientRepository.class, List.of(interceptor));
+
+        Flux.range(0, 10_000)
+            .flatMap(i -> proxied.count())
+            .blockLast(Duration.ofSeconds(10));
+
+        assertEquals(10_000, interceptor.slowest(1).get(0).getCalls());
+        assertTrue(interceptor.dropped() > 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.orvillex.reactordemo.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class RepositoryMetricsInterceptorTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<ReactiveRepositoryInterceptor> interceptors = List.of(new RepositoryMetricsInterceptor(registry));
+
+    @Test
+    public void timesCallsPerMethodAndStore() {
+        IngredientRepository ingredients = Mockito.mock(IngredientRepository.class);
+        when(ingredients.findById(1l)).thenReturn(Mono.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+        when(ingredients.findAll()).thenReturn(Flux.error(new IllegalStateException("down")));
+        TacoRepository tacos = Mockito.mock(TacoRepository.class);
+        when(tacos.count()).thenReturn(Mono.just(2l));
+
+        IngredientRepository proxiedIngredients = (IngredientRepository) RepositoryInterceptorPostProcessor
+            .proxy(ingredients, IngredientRepository.class, interceptors);
+        TacoRepository proxiedTacos = (TacoRepository) RepositoryInterceptorPostProcessor
+            .proxy(tacos, TacoRepository.class, interceptors);
+
+        StepVerifier.create(proxiedIngredients.findById(1l)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(proxiedIngredients.findAll()).verifyError();
+        StepVerifier.create(proxiedTacos.count()).expectNext(2l).verifyComplete();
+
+        assertEquals(1, registry.get("repository.invocations")
+            .tags("repository", "IngredientRepository", "method", "findById", "store", "r2dbc", "outcome", "success")
+            .timer().count());
+        assertEquals(1, registry.get("repository.invocations")
+            .tags("method", "findAll", "outcome", "error")
+            .timer().count());
+        assertEquals(1, registry.get("repository.invocations")
+            .tags("repository", "TacoRepository", "method", "count", "store", "mongo")
+            .timer().count());
+    }
+
+    @Test
+    public void startsTimingOnSubscription() {
+        IngredientRepository ingredients = Mockito.mock(IngredientRepository.class);
+        when(ingredients.count()).thenReturn(Mono.just(10l));
+        IngredientRepository proxied = (IngredientRepository) RepositoryInterceptorPostProcessor
+            .proxy(ingredients, IngredientRepository.class, interceptors);
+
+        Mono<Long> count = proxied.count();
+        assertEquals(0, registry.find("repository.invocations").timers().size());
+
+        StepVerifier.create(count.repeat(1)).expectNext(10l, 10l).verifyComplete();
+        assertEquals(2, registry.get("repository.invocations").tag("method", "count").timer().count());
+    }
+}
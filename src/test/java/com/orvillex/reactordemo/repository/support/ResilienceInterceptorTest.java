@@ -0,0 +1,114 @@
+package com.orvillex.reactordemo.repository.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.orvillex.reactordemo.config.ResilienceProperties;
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class ResilienceInterceptorTest {
+    private static final Ingredient FLOUR = new Ingredient(1l, "Flour Tortilla", Type.WRAP);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final IngredientRepository ingredients = Mockito.mock(IngredientRepository.class);
+
+    public ResilienceInterceptorTest() {
+        properties.setTimeout(Duration.ofMillis(100));
+        properties.getRetry().setMinBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+    }
+
+    @Test
+    public void retriesReadsButNotWrites() {
+        AtomicInteger reads = new AtomicInteger();
+        when(ingredients.findById(1l)).thenReturn(Mono.defer(() -> reads.incrementAndGet() < 3
+            ? Mono.error(new IllegalStateException("connection reset")) : Mono.just(FLOUR)));
+        AtomicInteger writes = new AtomicInteger();
+        when(ingredients.deleteById(1l)).thenReturn(Mono.defer(() -> {
+            writes.incrementAndGet();
+            return Mono.error(new IllegalStateException("connection reset"));
+        }));
+
+        IngredientRepository proxied = proxy();
+        StepVerifier.create(proxied.findById(1l)).expectNext(FLOUR).verifyComplete();
+        StepVerifier.create(proxied.deleteById(1l)).verifyErrorMessage("connection reset");
+
+        assertEquals(3, reads.get());
+        assertEquals(1, writes.get());
+        assertEquals(2, registry.get("repository.retries").tag("method", "findById").counter().count());
+    }
+
+    @Test
+    public void timesOutHungCalls() {
+        properties.getRetry().setMaxRetries(0);
+        when(ingredients.count()).thenReturn(Mono.never());
+
+        StepVerifier.create(proxy().count()).verifyError(TimeoutException.class);
+    }
+
+    @Test
+    public void doesNotRetryStreamsThatAlreadyEmitted() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        when(ingredients.findAll()).thenReturn(Flux.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Flux.just(FLOUR).concatWith(Flux.error(new IllegalStateException("cursor lost")));
+        }));
+
+        StepVerifier.create(proxy().findAll()).expectNext(FLOUR).verifyErrorMessage("cursor lost");
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    public void opensBreakerPerStore() {
+        properties.getRetry().setMaxRetries(0);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+        when(ingredients.count()).thenReturn(Mono.error(new TransientDataAccessResourceException("down")));
+
+        IngredientRepository proxied = proxy();
+        StepVerifier.create(proxied.count()).verifyErrorMessage("down");
+        StepVerifier.create(proxied.count()).verifyErrorMessage("down");
+        StepVerifier.create(proxied.count()).verifyError(CircuitBreakerOpenException.class);
+
+        assertEquals(1.0, registry.get("repository.circuit.state").tag("store", "r2dbc").gauge().value());
+    }
+
+    @Test
+    public void hedgesSlowReadsAfterPercentileDelay() {
+        properties.getHedge().setEnabled(true);
+        properties.getHedge().setMinSamples(2);
+        properties.getHedge().setMinDelay(Duration.ofMillis(1));
+        AtomicInteger calls = new AtomicInteger();
+        when(ingredients.findById(1l)).thenReturn(Mono.defer(() -> calls.incrementAndGet() == 3
+            ? Mono.just(FLOUR).delayElement(Duration.ofSeconds(5)) : Mono.just(FLOUR)));
+
+        IngredientRepository proxied = proxy();
+        StepVerifier.create(proxied.findById(1l)).expectNext(FLOUR).verifyComplete();
+        StepVerifier.create(proxied.findById(1l)).expectNext(FLOUR).verifyComplete();
+        StepVerifier.create(proxied.findById(1l)).expectNext(FLOUR).expectComplete().verify(Duration.ofSeconds(1));
+
+        assertEquals(1, registry.get("repository.hedge.wins").tag("winner", "hedge").counter().count());
+        assertEquals(1, registry.get("repository.hedge.requests").counter().count());
+    }
+
+    private IngredientRepository proxy() {
+        return (IngredientRepository) RepositoryInterceptorPostProcessor.proxy(ingredients, IngredientRepository.class,
+            List.of(new ResilienceInterceptor(properties, registry)));
+    }
+}
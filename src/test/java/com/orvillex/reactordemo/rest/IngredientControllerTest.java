@@ -1,15 +1,37 @@
 package com.orvillex.reactordemo.rest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orvillex.reactordemo.config.CodecConfiguration;
 import com.orvillex.reactordemo.domain.Ingredient;
 import com.orvillex.reactordemo.enums.Type;
 import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientUpsertRepository;
+import com.orvillex.reactordemo.service.IngredientCache;
+import com.orvillex.reactordemo.service.IngredientLoader;
+import com.orvillex.reactordemo.service.IngredientNameIndex;
+import com.orvillex.reactordemo.service.IngredientService;
+import com.orvillex.reactordemo.service.IngredientWriter;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import reactor.core.publisher.Flux;
@@ -30,7 +52,7 @@ public class IngredientControllerTest {
         when(repo.findAll()).thenReturn(ingredientFlux);
 
         WebTestClient testClient = WebTestClient.bindToController(
-            new IngredientController(repo)).build();
+            controller(repo)).build();
         
         testClient.get().uri("/ingredient")
             .exchange()
@@ -53,10 +75,9 @@ public class IngredientControllerTest {
         Mono<Ingredient> monoIngredient = Mono.just(ingredient);
 
         IngredientRepository repo = Mockito.mock(IngredientRepository.class);
-        when(repo.save(any())).thenReturn(monoIngredient);
 
         WebTestClient testClient = WebTestClient.bindToController(
-            new IngredientController(repo)).build();
+            controller(repo)).build();
 
         testClient.post().uri("/ingredient")
             .contentType(MediaType.APPLICATION_JSON)
@@ -66,4 +87,219 @@ public class IngredientControllerTest {
             .expectBody(Ingredient.class)
             .isEqualTo(ingredient);
     }
+
+    @Test
+    public void shouldStreamIngredientsAsNdjson() {
+        IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+        when(repo.findAll()).thenReturn(Flux.just(
+            new Ingredient(1l, "First", Type.SAUCE),
+            new Ingredient(2l, "Second", Type.VEGGIES)));
+
+        WebTestClient testClient = WebTestClient.bindToController(
+            controller(repo)).build();
+
+        testClient.get().uri("/ingredient")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(Ingredient.class)
+            .hasSize(2);
+    }
+
+    @Test
+    public void shouldReturnKeysetPages() {
+        IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+        when(repo.findByTypeOrderByName(eq(Type.WRAP), any())).thenReturn(Flux.just(
+            new Ingredient(2l, "Corn Tortilla", Type.WRAP),
+            new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+        when(repo.findByTypeAfter(eq("WRAP"), eq("Corn Tortilla"), eq(2l), anyInt())).thenReturn(Flux.just(
+            new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+
+        WebTestClient testClient = WebTestClient.bindToController(
+            controller(repo)).build();
+
+        KeysetPage<Ingredient> first = testClient.get().uri("/ingredient/page?type=WRAP&size=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(new ParameterizedTypeReference<KeysetPage<Ingredient>>() {})
+            .returnResult()
+            .getResponseBody();
+        assertEquals(List.of(new Ingredient(2l, "Corn Tortilla", Type.WRAP)), first.getItems());
+        assertNotNull(first.getNext());
+
+        testClient.get().uri("/ingredient/page?type=WRAP&size=1&cursor={cursor}", first.getNext())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.items[0].name").isEqualTo("Flour Tortilla")
+            .jsonPath("$.next").doesNotExist();
+
+        testClient.get().uri("/ingredient/page?type=WRAP&cursor=bogus")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void shouldServeRepeatedReadsFromCache() {
+        IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+        when(repo.findAll()).thenReturn(Flux.just(new Ingredient(1l, "First", Type.SAUCE)));
+        when(repo.deleteById(1l)).thenReturn(Mono.empty());
+
+        WebTestClient testClient = WebTestClient.bindToController(
+            controller(repo)).build();
+
+        testClient.get().uri("/ingredient").exchange().expectStatus().isOk();
+        testClient.get().uri("/ingredient").exchange().expectStatus().isOk();
+        testClient.get().uri("/ingredient/1").exchange()
+            .expectStatus().isOk()
+            .expectBody(Ingredient.class).isEqualTo(new Ingredient(1l, "First", Type.SAUCE));
+        testClient.get().uri("/ingredient/cache/stats")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.hits").isEqualTo(1)
+            .jsonPath("$.misses").isEqualTo(1);
+        verify(repo, times(1)).findAll();
+
+        testClient.delete().uri("/ingredient/1").exchange().expectStatus().isOk();
+        when(repo.findAllById(any(Iterable.class))).thenReturn(Flux.empty());
+        testClient.get().uri("/ingredient/1").exchange()
+            .expectBody().isEmpty();
+        verify(repo).findAllById(any(Iterable.class));
+    }
+
+    @Test
+    public void shouldSearchFromIndexAndKeepItCurrent() {
+        IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+        when(repo.findAll()).thenReturn(Flux.just(
+            new Ingredient(1l, "Flour Tortilla", Type.WRAP),
+            new Ingredient(2l, "Corn Tortilla", Type.WRAP),
+            new Ingredient(5l, "Diced Tomatoes", Type.VEGGIES)));
+        WebTestClient testClient = WebTestClient.bindToController(controller(repo)).build();
+
+        testClient.get().uri("/ingredient/search?q=to")
+            .exchange()
+            .expectBodyList(Ingredient.class)
+            .isEqualTo(List.of(new Ingredient(2l, "Corn Tortilla", Type.WRAP),
+                new Ingredient(5l, "Diced Tomatoes", Type.VEGGIES), new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+
+        testClient.post().uri("/ingredient")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new Ingredient(11l, "Tortilla Chips", Type.WRAP))
+            .exchange()
+            .expectStatus().isOk();
+
+        testClient.get().uri("/ingredient/search?q=tortilla&type=WRAP&limit=2")
+            .exchange()
+            .expectBodyList(Ingredient.class)
+            .isEqualTo(List.of(new Ingredient(11l, "Tortilla Chips", Type.WRAP), new Ingredient(2l, "Corn Tortilla", Type.WRAP)));
+        verify(repo, times(1)).findAll();
+    }
+
+    @Test
+    public void shouldServeCachedCatalogWithEtag() {
+        IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+        when(repo.findAll()).thenReturn(Flux.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+        WebTestClient testClient = WebTestClient.bindToController(controller(repo)).build();
+
+        String etag = testClient.get().uri("/ingredient")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_JSON)
+            .expectBody().json("[{\"id\":1,\"name\":\"Flour Tortilla\",\"type\":\"WRAP\"}]")
+            .returnResult().getResponseHeaders().getETag();
+        assertNotNull(etag);
+
+        testClient.get().uri("/ingredient")
+            .header(HttpHeaders.IF_NONE_MATCH, etag)
+            .exchange()
+            .expectStatus().isNotModified()
+            .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+
+        testClient.post().uri("/ingredient")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new Ingredient(1l, "Wheat Tortilla", Type.WRAP))
+            .exchange()
+            .expectStatus().isOk();
+
+        testClient.get().uri("/ingredient")
+            .header(HttpHeaders.IF_NONE_MATCH, etag)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$[0].name").isEqualTo("Wheat Tortilla");
+        verify(repo, times(1)).findAll();
+    }
+
+    @Test
+    public void shouldDropCachedCatalogOnAnyServiceWrite() {
+        IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+        when(repo.findAll()).thenReturn(Flux.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+        IngredientService service = service(repo);
+        WebTestClient testClient = WebTestClient.bindToController(new IngredientController(service, responseCache())).build();
+
+        testClient.get().uri("/ingredient")
+            .exchange()
+            .expectBody().jsonPath("$[0].name").isEqualTo("Flour Tortilla");
+
+        service.saveAll(List.of(new Ingredient(1l, "Wheat Tortilla", Type.WRAP))).block();
+
+        testClient.get().uri("/ingredient")
+            .exchange()
+            .expectBody().jsonPath("$[0].name").isEqualTo("Wheat Tortilla");
+    }
+
+    @Test
+    public void shouldNegotiateSmile() {
+        IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+        when(repo.findAll()).thenReturn(Flux.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP),
+            new Ingredient(9l, "Salsa", Type.SAUCE)));
+        ObjectMapper smile = CodecConfiguration.smileMapper(Jackson2ObjectMapperBuilder.json());
+        Consumer<CodecConfigurer> smileCodecs = configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(CodecConfiguration.smileEncoder(smile));
+            configurer.defaultCodecs().jackson2SmileDecoder(CodecConfiguration.smileDecoder(smile));
+        };
+        WebTestClient testClient = WebTestClient.bindToController(controller(repo))
+            .httpMessageCodecs(smileCodecs::accept)
+            .configureClient()
+            .codecs(smileCodecs::accept)
+            .build();
+
+        testClient.get().uri("/ingredient")
+            .accept(BinaryMediaTypes.APPLICATION_SMILE)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(BinaryMediaTypes.APPLICATION_SMILE)
+            .expectBodyList(Ingredient.class)
+            .hasSize(2)
+            .contains(new Ingredient(9l, "Salsa", Type.SAUCE));
+
+        testClient.get().uri("/ingredient")
+            .accept(BinaryMediaTypes.APPLICATION_STREAM_SMILE)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(BinaryMediaTypes.APPLICATION_STREAM_SMILE)
+            .expectBodyList(Ingredient.class)
+            .hasSize(2);
+    }
+
+    private static IngredientController controller(IngredientRepository repo) {
+        return new IngredientController(service(repo), responseCache());
+    }
+
+    private static IngredientService service(IngredientRepository repo) {
+        IngredientUpsertRepository upserts = Mockito.mock(IngredientUpsertRepository.class);
+        when(upserts.upsertAll(any())).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        return new IngredientService(repo,
+            new IngredientCache(100, Duration.ofMinutes(1)),
+            new IngredientLoader(repo, Duration.ofMillis(1), 100, 1),
+            new IngredientNameIndex(),
+            new IngredientWriter(upserts, Duration.ofMillis(1), 100, 1));
+    }
+
+    private static SerializedResponseCache responseCache() {
+        return new SerializedResponseCache(Jackson2ObjectMapperBuilder.json().build(),
+            CodecConfiguration.smileEncoder(CodecConfiguration.smileMapper(Jackson2ObjectMapperBuilder.json())),
+            Duration.ofMinutes(10));
+    }
 }
@@ -0,0 +1,179 @@
+package com.orvillex.reactordemo.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientUpsertRepository;
+import com.orvillex.reactordemo.service.IngredientCache;
+import com.orvillex.reactordemo.service.IngredientLoader;
+import com.orvillex.reactordemo.service.IngredientNameIndex;
+import com.orvillex.reactordemo.service.IngredientService;
+import com.orvillex.reactordemo.service.IngredientWriter;
+import com.orvillex.reactordemo.support.InMemoryTacoRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+public class RSocketControllerTest {
+    private final IngredientRepository ingredients = Mockito.mock(IngredientRepository.class);
+    private final AtomicLong requested = new AtomicLong();
+    private final TacoRepository tacos = new InMemoryTacoRepository() {
+        @Override
+        public Flux<Taco> findAll() {
+            return Flux.range(0, 10_000)
+                .map(i -> new Taco(String.valueOf(i), "Taco " + i, null))
+                .doOnRequest(requested::addAndGet);
+        }
+    };
+
+    private CloseableChannel server;
+    private RSocketRequester requester;
+
+    @BeforeEach
+    public void setUp() {
+        RSocketStrategies strategies = RSocketStrategies.builder()
+            .encoders(encoders -> encoders.add(new Jackson2JsonEncoder()))
+            .decoders(decoders -> decoders.add(new Jackson2JsonDecoder()))
+            .build();
+        TacoRSocketController tacoController = new TacoRSocketController();
+        ReflectionTestUtils.setField(tacoController, "repository", tacos);
+        ReflectionTestUtils.setField(tacoController, "bulkBatchSize", 2);
+
+        server = RSocketServer.create(RSocketMessageHandler.responder(strategies, tacoController, ingredientController()))
+            .bind(TcpServerTransport.create("localhost", 0))
+            .block();
+        requester = RSocketRequester.builder()
+            .rsocketStrategies(strategies)
+            .dataMimeType(MediaType.APPLICATION_JSON)
+            .tcp("localhost", server.address().getPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        requester.rsocketClient().dispose();
+        server.dispose();
+    }
+
+    @Test
+    public void answersRequestResponse() {
+        when(ingredients.findAllById(any(Iterable.class)))
+            .thenReturn(Flux.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+
+        StepVerifier.create(requester.route("ingredient.get").data(1l).retrieveMono(Ingredient.class))
+            .expectNext(new Ingredient(1l, "Flour Tortilla", Type.WRAP))
+            .verifyComplete();
+        StepVerifier.create(requester.route("ingredient.save").data(new Ingredient(null, null, Type.WRAP))
+                .retrieveMono(Ingredient.class))
+            .expectErrorMessage("name and type are required")
+            .verify();
+    }
+
+    @Test
+    public void streamsOnlyWhatTheRequesterAsksFor() {
+        StepVerifier.create(requester.route("taco.all").retrieveFlux(Taco.class), 0)
+            .thenRequest(5)
+            .expectNextCount(5)
+            .thenAwait(Duration.ofMillis(100))
+            .thenCancel()
+            .verify();
+
+        assertTrue(requested.get() <= 256, "requested " + requested.get());
+    }
+
+    @Test
+    public void multiplexesChannelsOnOneConnection() {
+        when(ingredients.findAllById(any(Iterable.class))).thenAnswer(i -> Flux.fromIterable(i.<Iterable<Long>>getArgument(0))
+            .map(id -> new Ingredient(id, "Ingredient " + id, Type.SAUCE)));
+
+        List<Long> sums = Flux.range(0, 8)
+            .flatMap(n -> requester.route("ingredient.lookup")
+                .data(Flux.range(1, 50).map(Long::valueOf))
+                .retrieveFlux(Ingredient.class)
+                .map(Ingredient::getId)
+                .reduce(0l, Long::sum))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+        assertEquals(Collections.nCopies(8, 1275l), sums);
+
+        StepVerifier.create(requester.route("taco.save-all")
+                .data(Flux.range(0, 5).map(i -> new Taco(null, "Saved " + i, null)))
+                .retrieveFlux(Taco.class)
+                .map(Taco::getName))
+            .expectNext("Saved 0", "Saved 1", "Saved 2", "Saved 3", "Saved 4")
+            .verifyComplete();
+    }
+
+    @Test
+    public void answersTacosAsTheyTrickleIn() {
+        Sinks.Many<Taco> inbound = Sinks.many().unicast().onBackpressureBuffer();
+
+        StepVerifier.create(requester.route("taco.save-all")
+                .data(inbound.asFlux())
+                .retrieveFlux(Taco.class)
+                .map(Taco::getName))
+            .then(() -> inbound.tryEmitNext(new Taco(null, "First", null)))
+            .expectNext("First")
+            .then(() -> inbound.tryEmitNext(new Taco(null, "Second", null)))
+            .expectNext("Second")
+            .then(inbound::tryEmitComplete)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void takesTacosOnlyAsFastAsTheyAreAnswered() {
+        AtomicLong sent = new AtomicLong();
+
+        StepVerifier.create(requester.route("taco.save-all")
+                .data(Flux.range(0, 10_000).map(i -> new Taco(null, "Saved " + i, null))
+                    .doOnRequest(n -> sent.accumulateAndGet(n, Operators::addCap)))
+                .retrieveFlux(Taco.class), 0)
+            .thenRequest(1)
+            .expectNextCount(1)
+            .thenAwait(Duration.ofMillis(200))
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+
+        assertTrue(sent.get() <= 256, "requested " + sent.get());
+    }
+
+    private IngredientRSocketController ingredientController() {
+        IngredientUpsertRepository upserts = Mockito.mock(IngredientUpsertRepository.class);
+        when(upserts.upsertAll(any())).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        return new IngredientRSocketController(new IngredientService(ingredients,
+            new IngredientCache(100, Duration.ofMinutes(1)),
+            new IngredientLoader(ingredients, Duration.ofMillis(1), 100, 1),
+            new IngredientNameIndex(),
+            new IngredientWriter(upserts, Duration.ofMillis(1), 100, 1)));
+    }
+}
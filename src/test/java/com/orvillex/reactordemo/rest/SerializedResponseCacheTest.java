@@ -0,0 +1,40 @@
+package com.orvillex.reactordemo.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orvillex.reactordemo.config.CodecConfiguration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import reactor.core.publisher.Mono;
+
+public class SerializedResponseCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final SerializedResponseCache cache = new SerializedResponseCache(Jackson2ObjectMapperBuilder.json().build(),
+        CodecConfiguration.smileEncoder(CodecConfiguration.smileMapper(Jackson2ObjectMapperBuilder.json())),
+        Duration.ofMinutes(10), now::get);
+
+    @Test
+    public void reloadsResponsesOnceTheyExpire() {
+        AtomicInteger loads = new AtomicInteger();
+        Mono<List<String>> source = Mono.fromSupplier(() -> List.of("load " + loads.incrementAndGet()));
+        List<MediaType> accept = List.of(MediaType.APPLICATION_JSON);
+
+        String etag = cache.get("all", accept, source).block().getEtag();
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertEquals(etag, cache.get("all", accept, source).block().getEtag());
+        assertEquals(1, loads.get());
+
+        now.incrementAndGet();
+        assertNotEquals(etag, cache.get("all", accept, source).block().getEtag());
+        assertEquals(2, loads.get());
+    }
+}
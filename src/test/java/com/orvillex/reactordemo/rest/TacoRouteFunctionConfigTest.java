@@ -0,0 +1,245 @@
+package com.orvillex.reactordemo.rest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orvillex.reactordemo.config.CodecConfiguration;
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.domain.TacoIngredients;
+import com.orvillex.reactordemo.enums.FeedOverflow;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+import com.orvillex.reactordemo.service.PopularityWindow;
+import com.orvillex.reactordemo.service.TacoChange;
+import com.orvillex.reactordemo.service.TacoFeed;
+import com.orvillex.reactordemo.service.TacoIngredientService;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class TacoRouteFunctionConfigTest {
+    private TacoRepository repo;
+    private TacoIngredientService tacoIngredients;
+    private TacoFeed feed;
+    private WebTestClient testClient;
+
+    @BeforeEach
+    public void setUp() {
+        repo = Mockito.mock(TacoRepository.class);
+        when(repo.save(any())).thenAnswer(i -> Mono.just(saved(i.getArgument(0))));
+        when(repo.saveAll(any(Iterable.class))).thenAnswer(i -> {
+            Iterable<Taco> batch = i.getArgument(0);
+            return Flux.fromIterable(batch).map(TacoRouteFunctionConfigTest::saved);
+        });
+
+        tacoIngredients = Mockito.mock(TacoIngredientService.class);
+        feed = Mockito.mock(TacoFeed.class);
+
+        TacoRouteFunctionConfig config = new TacoRouteFunctionConfig();
+        ReflectionTestUtils.setField(config, "repository", repo);
+        ReflectionTestUtils.setField(config, "tacoIngredients", tacoIngredients);
+        ReflectionTestUtils.setField(config, "feed", feed);
+        ReflectionTestUtils.setField(config, "bulkBatchSize", 2);
+        testClient = WebTestClient.bindToRouterFunction(config.routerFunctions()).build();
+    }
+
+    @Test
+    public void shouldSaveTaco() {
+        testClient.post().uri("/taco")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new Taco(null, "Mysql", "MySql Remark"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Taco.class)
+            .isEqualTo(new Taco("Mysql-id", "Mysql", "MySql Remark"));
+    }
+
+    @Test
+    public void shouldBulkSaveNdjsonInBatches() {
+        String body = "{\"name\":\"a\",\"remark\":\"1\"}\n"
+            + "{\"name\":\"b\",\"remark\":\"2\"}\n"
+            + "{\"name\":\"c\",\"remark\":\"3\"}\n";
+
+        testClient.post().uri("/taco/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(Taco.class)
+            .isEqualTo(List.of(new Taco("a-id", "a", "1"), new Taco("b-id", "b", "2"), new Taco("c-id", "c", "3")));
+
+        verify(repo, times(2)).saveAll(any(Iterable.class));
+    }
+
+    @Test
+    public void shouldBulkSaveJsonArray() {
+        testClient.post().uri("/taco/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("[{\"name\":\"a\",\"remark\":\"1\"},{\"name\":\"b\",\"remark\":\"2\"}]")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(Taco.class)
+            .hasSize(2);
+    }
+
+    @Test
+    public void shouldStreamTacosOnlyWhenAskedFor() {
+        when(repo.findAll()).thenReturn(Flux.just(new Taco("1", "a", "1"), new Taco("2", "b", "2")));
+
+        testClient.get().uri("/taco")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+
+        testClient.get().uri("/taco")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$").isArray();
+    }
+
+    @Test
+    public void shouldReturnKeysetPages() {
+        String id1 = ObjectId.get().toHexString();
+        String id2 = ObjectId.get().toHexString();
+        when(repo.findByNameOrderByRemark(eq("Mysql"), any())).thenReturn(Flux.just(
+            new Taco(id1, "Mysql", "a"), new Taco(id2, "Mysql", "b")));
+        when(repo.findByNameAfter(eq("Mysql"), eq("a"), eq(new ObjectId(id1)), any())).thenReturn(Flux.just(
+            new Taco(id2, "Mysql", "b")));
+
+        testClient.get().uri("/taco/page?name=Mysql&size=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.items[0].id").isEqualTo(id1)
+            .jsonPath("$.next").isEqualTo(KeysetCursor.encode("a", id1));
+
+        testClient.get().uri("/taco/page?name=Mysql&size=1&cursor={cursor}", KeysetCursor.encode("a", id1))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.items[0].id").isEqualTo(id2)
+            .jsonPath("$.next").doesNotExist();
+
+        testClient.get().uri("/taco/page?name=Mysql&cursor={cursor}", KeysetCursor.encode("a", "not-an-id"))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void shouldContinuePastTacosWithoutRemark() {
+        String id1 = ObjectId.get().toHexString();
+        String id2 = ObjectId.get().toHexString();
+        when(repo.findByNameOrderByRemark(eq("Mysql"), any())).thenReturn(Flux.just(
+            new Taco(id1, "Mysql", null), new Taco(id2, "Mysql", null)));
+        when(repo.findByNameAfterNullRemark(eq("Mysql"), eq(new ObjectId(id1)), any())).thenReturn(Flux.just(
+            new Taco(id2, "Mysql", null)));
+
+        testClient.get().uri("/taco/page?name=Mysql&size=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.next").isEqualTo(KeysetCursor.encode(null, id1));
+
+        testClient.get().uri("/taco/page?name=Mysql&size=1&cursor={cursor}", KeysetCursor.encode(null, id1))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.items[0].id").isEqualTo(id2)
+            .jsonPath("$.next").doesNotExist();
+    }
+
+    @Test
+    public void shouldStreamTacosWithIngredients() {
+        TacoIngredients classic = new TacoIngredients(1l, "Classic", null, List.of(new Ingredient(1l, "Flour Tortilla", Type.WRAP)));
+        when(tacoIngredients.findAll()).thenReturn(Flux.just(classic));
+        when(tacoIngredients.findAfter(1l, 20)).thenReturn(Flux.empty());
+
+        testClient.get().uri("/taco/ingredients")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(TacoIngredients.class)
+            .isEqualTo(List.of(classic));
+
+        testClient.get().uri("/taco/ingredients?after=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(TacoIngredients.class)
+            .hasSize(0);
+    }
+
+    @Test
+    public void shouldPushPopularityOverSse() {
+        when(tacoIngredients.popularity()).thenReturn(Flux.just(
+            List.of(new PopularityWindow("1m", Map.of(1l, 3l), Map.of(Type.WRAP, 3l)))));
+
+        testClient.get().uri("/taco/popularity")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+            .expectBody(String.class)
+            .value(body -> assertTrue(body.startsWith("data:[{\"window\":\"1m\""), body));
+    }
+
+    @Test
+    public void shouldBulkSaveSmileStream() throws Exception {
+        ObjectMapper smile = CodecConfiguration.smileMapper(Jackson2ObjectMapperBuilder.json());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(smile.writeValueAsBytes(new Taco(null, "a", "1")));
+        body.write(smile.writeValueAsBytes(new Taco(null, "b", "2")));
+
+        testClient.post().uri("/taco/bulk")
+            .contentType(BinaryMediaTypes.APPLICATION_STREAM_SMILE)
+            .bodyValue(body.toByteArray())
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(BinaryMediaTypes.APPLICATION_STREAM_SMILE)
+            .expectBodyList(Taco.class)
+            .isEqualTo(List.of(new Taco("a-id", "a", "1"), new Taco("b-id", "b", "2")));
+    }
+
+    @Test
+    public void shouldStreamLiveFeed() {
+        when(feed.feed(FeedOverflow.DROP)).thenReturn(Flux.just(new TacoChange("insert", "1", new Taco("1", "a", "1"))));
+
+        testClient.get().uri("/taco/feed?overflow=drop")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(TacoChange.class)
+            .isEqualTo(List.of(new TacoChange("insert", "1", new Taco("1", "a", "1"))));
+
+        testClient.get().uri("/taco/feed?overflow=block")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    private static Taco saved(Taco taco) {
+        return new Taco(taco.getName() + "-id", taco.getName(), taco.getRemark());
+    }
+}
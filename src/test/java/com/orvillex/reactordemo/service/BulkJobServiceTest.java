@@ -0,0 +1,104 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.JobStatus;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.support.InMemoryTacoRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+public class BulkJobServiceTest {
+    private final IngredientService ingredients = Mockito.mock(IngredientService.class);
+    private final InMemoryTacoRepository tacos = new InMemoryTacoRepository();
+    private final BulkJobService service = new BulkJobService(ingredients, tacos, 2, Duration.ofMillis(5), 1, 2);
+
+    @AfterEach
+    public void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    public void deletesIngredientsInChunksUntilShortChunk() {
+        when(ingredients.deleteChunkByType(eq(Type.WRAP), eq(2)))
+            .thenReturn(Mono.just(2), Mono.just(2), Mono.just(1));
+
+        BulkJob job = service.deleteIngredientsByType(Type.WRAP);
+
+        StepVerifier.create(service.events(job.getId()).get().last())
+            .assertNext(done -> {
+                assertEquals(JobStatus.COMPLETED, done.getStatus());
+                assertEquals(5, done.getDeleted());
+                assertEquals(3, done.getChunks());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    public void deletesTacosByNameInChunks() {
+        Flux.range(0, 5).map(i -> new Taco(null, "old", "r" + i))
+            .concatWithValues(new Taco(null, "new", "r"))
+            .concatMap(tacos::save)
+            .blockLast();
+
+        BulkJob job = service.deleteTacosByName("old");
+
+        StepVerifier.create(service.events(job.getId()).get().last())
+            .assertNext(done -> assertEquals(5, done.getDeleted()))
+            .verifyComplete();
+        StepVerifier.create(tacos.count()).expectNext(1l).verifyComplete();
+    }
+
+    @Test
+    public void cancelsQueuedJobsAndRunningOnesAfterTheirChunk() {
+        Sinks.One<Integer> currentChunk = Sinks.one();
+        BulkJob running = service.submit("slow", "a", limit -> currentChunk.asMono());
+        BulkJob queued = service.submit("slow", "b", limit -> Mono.just(0));
+
+        assertEquals(JobStatus.CANCELLED, service.cancel(queued.getId()).get().getStatus());
+        StepVerifier.create(service.events(running.getId()).get())
+            .expectNextMatches(job -> job.getStatus() == JobStatus.RUNNING)
+            .then(() -> {
+                service.cancel(running.getId());
+                currentChunk.tryEmitValue(2);
+            })
+            .expectNextMatches(job -> job.getStatus() == JobStatus.RUNNING && job.getDeleted() == 2)
+            .expectNextMatches(job -> job.getStatus() == JobStatus.CANCELLED && job.getChunks() == 1)
+            .verifyComplete();
+    }
+
+    @Test
+    public void recordsFailureAndRetainsBoundedHistory() {
+        BulkJob failed = service.submit("broken", "a", limit -> Mono.error(new IllegalStateException("lock timeout")));
+        StepVerifier.create(service.events(failed.getId()).get().last())
+            .assertNext(done -> {
+                assertEquals(JobStatus.FAILED, done.getStatus());
+                assertEquals("lock timeout", done.getError());
+            })
+            .verifyComplete();
+
+        for (int i = 0; i < 3; i++) {
+            BulkJob job = service.submit("noop", "x" + i, limit -> Mono.just(0));
+            service.events(job.getId()).get().blockLast();
+        }
+        service.submit("noop", "last", limit -> Mono.just(0));
+
+        List<BulkJob> retained = service.findAll();
+        assertTrue(retained.size() <= 3, retained.toString());
+        assertTrue(service.find(failed.getId()).isEmpty());
+    }
+}
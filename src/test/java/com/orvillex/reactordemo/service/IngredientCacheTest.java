@@ -0,0 +1,85 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.junit.jupiter.api.Test;
+
+public class IngredientCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final IngredientCache cache = new IngredientCache(3, Duration.ofSeconds(10), now::get);
+
+    private final Ingredient flour = new Ingredient(1l, "Flour Tortilla", Type.WRAP);
+    private final Ingredient corn = new Ingredient(2l, "Corn Tortilla", Type.WRAP);
+    private final Ingredient salsa = new Ingredient(9l, "Salsa", Type.SAUCE);
+
+    @Test
+    public void servesCatalogAndTypeIndexOnceLoaded() {
+        assertNull(cache.getAll());
+        cache.putCatalog(List.of(salsa, corn, flour), cache.generation());
+
+        assertEquals(List.of(flour, corn, salsa), cache.getAll());
+        assertEquals(List.of(corn, flour), cache.getByType(Type.WRAP));
+        assertEquals(List.of(), cache.getByType(Type.CHEESE));
+        assertEquals(salsa, cache.get(9l));
+        assertEquals(new CacheStats(4, 1, 0, 3), cache.stats());
+    }
+
+    @Test
+    public void writesKeepTheTypeIndexConsistent() {
+        cache.putCatalog(List.of(flour, corn, salsa), cache.generation());
+
+        cache.saved(flour.withType(Type.SAUCE));
+        assertEquals(List.of(corn), cache.getByType(Type.WRAP));
+        assertEquals(List.of(flour.withType(Type.SAUCE), salsa), cache.getByType(Type.SAUCE));
+
+        cache.evictType(Type.SAUCE, true);
+        assertEquals(List.of(corn), cache.getAll());
+
+        cache.evict(2l);
+        assertEquals(List.of(), cache.getAll());
+
+        cache.evictType(Type.CHEESE, false);
+        assertNull(cache.getAll());
+    }
+
+    @Test
+    public void ignoresLoadsThatRacedWithAWrite() {
+        long generation = cache.generation();
+        cache.evict(1l);
+
+        cache.putCatalog(List.of(flour), generation);
+        cache.putIfCurrent(flour, generation);
+
+        assertNull(cache.getAll());
+        assertNull(cache.get(1l));
+    }
+
+    @Test
+    public void expiresEntriesAfterTtl() {
+        cache.putCatalog(List.of(flour, corn), cache.generation());
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertNull(cache.getAll());
+        assertNull(cache.get(1l));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedBeyondMaxSize() {
+        cache.putCatalog(List.of(flour, corn, salsa), cache.generation());
+        cache.get(1l);
+        cache.saved(new Ingredient(7l, "Cheddar", Type.CHEESE));
+
+        assertNull(cache.get(2l));
+        assertEquals(flour, cache.get(1l));
+        assertNull(cache.getAll());
+        assertEquals(1, cache.stats().getEvictions());
+    }
+}
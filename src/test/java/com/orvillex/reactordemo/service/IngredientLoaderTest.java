@@ -0,0 +1,81 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class IngredientLoaderTest {
+    private final IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+
+    @Test
+    public void coalescesConcurrentLookupsIntoOneInQuery() {
+        when(repo.findAllById(any(Iterable.class))).thenAnswer(i -> {
+            List<Ingredient> found = new ArrayList<>();
+            for (Long id : (Iterable<Long>) i.getArgument(0)) {
+                if (id < 10) {
+                    found.add(new Ingredient(id, "I" + id, Type.SAUCE));
+                }
+            }
+            return Flux.fromIterable(found);
+        });
+        IngredientLoader loader = new IngredientLoader(repo, Duration.ofMillis(50), 100, 1);
+
+        Mono<List<String>> names = Flux.just(1l, 2l, 1l, 42l, 2l)
+            .flatMap(id -> loader.load(id).map(Ingredient::getName).defaultIfEmpty("missing"))
+            .collectList();
+
+        StepVerifier.create(names)
+            .assertNext(list -> assertEquals(List.of("I1", "I1", "I2", "I2", "missing"), sorted(list)))
+            .verifyComplete();
+
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(repo, times(1)).findAllById(ids.capture());
+        assertEquals(List.of(1l, 2l, 42l), ids.getValue());
+        loader.destroy();
+    }
+
+    @Test
+    public void flushesWhenBatchIsFull() {
+        when(repo.findAllById(any(Iterable.class))).thenReturn(Flux.empty());
+        IngredientLoader loader = new IngredientLoader(repo, Duration.ofSeconds(30), 2, 1);
+
+        StepVerifier.create(Flux.just(1l, 2l).flatMap(loader::load))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+        loader.destroy();
+    }
+
+    @Test
+    public void propagatesBatchFailureToEveryCaller() {
+        when(repo.findAllById(any(Iterable.class))).thenReturn(Flux.error(new IllegalStateException("down")));
+        IngredientLoader loader = new IngredientLoader(repo, Duration.ofMillis(10), 100, 1);
+
+        StepVerifier.create(loader.load(1l)).expectErrorMessage("down").verify(Duration.ofSeconds(5));
+        StepVerifier.create(loader.load(2l)).expectErrorMessage("down").verify(Duration.ofSeconds(5));
+        loader.destroy();
+    }
+
+    private static List<String> sorted(List<String> list) {
+        List<String> copy = new ArrayList<>(list);
+        copy.sort(null);
+        return copy;
+    }
+}
@@ -0,0 +1,68 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.junit.jupiter.api.Test;
+
+public class IngredientNameIndexTest {
+    private final IngredientNameIndex index = new IngredientNameIndex();
+
+    private final Ingredient flour = new Ingredient(1l, "Flour Tortilla", Type.WRAP);
+    private final Ingredient corn = new Ingredient(2l, "Corn Tortilla", Type.WRAP);
+    private final Ingredient tomatoes = new Ingredient(5l, "Diced Tomatoes", Type.VEGGIES);
+    private final Ingredient salsa = new Ingredient(9l, "Salsa", Type.SAUCE);
+
+    @Test
+    public void ranksExactPrefixWordPrefixThenSubstring() {
+        index.load(List.of(flour, corn, tomatoes, salsa, new Ingredient(11l, "Tortilla", Type.WRAP),
+            new Ingredient(12l, "Tortilla Chips", Type.WRAP)), index.generation());
+
+        assertEquals(List.of(11l, 12l, 2l, 1l), ids(index.search("Tortilla", null, 10)));
+        assertEquals(List.of(5l), ids(index.search("mato", null, 10)));
+        assertEquals(List.of(9l), ids(index.search("SA", null, 10)));
+        assertEquals(List.of(), index.search("tortillax", null, 10));
+    }
+
+    @Test
+    public void filtersByTypeAndLimits() {
+        index.load(List.of(flour, corn, tomatoes), index.generation());
+
+        assertEquals(List.of(5l), ids(index.search("to", Type.VEGGIES, 10)));
+        assertEquals(List.of(2l), ids(index.search("to", null, 1)));
+    }
+
+    @Test
+    public void followsWrites() {
+        index.load(List.of(flour, corn, tomatoes), index.generation());
+
+        index.put(corn.withName("Blue Corn"));
+        assertEquals(List.of(1l), ids(index.search("tortilla", null, 10)));
+        assertEquals(List.of(2l), ids(index.search("blue", null, 10)));
+
+        index.remove(1l);
+        assertEquals(List.of(), index.search("tortilla", null, 10));
+
+        index.removeType(Type.VEGGIES);
+        assertEquals(List.of(), index.search("tomato", null, 10));
+    }
+
+    @Test
+    public void discardsCatalogReadBeforeAWrite() {
+        long generation = index.generation();
+        index.put(salsa);
+
+        assertFalse(index.load(List.of(flour), generation));
+        assertFalse(index.isLoaded());
+    }
+
+    private static List<Long> ids(List<Ingredient> ingredients) {
+        return ingredients.stream().map(Ingredient::getId).collect(Collectors.toList());
+    }
+}
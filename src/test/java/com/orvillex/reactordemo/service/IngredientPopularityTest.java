@@ -0,0 +1,76 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.test.StepVerifier;
+
+public class IngredientPopularityTest {
+    private final AtomicLong now = new AtomicLong();
+    private final IngredientPopularity popularity = new IngredientPopularity(Duration.ofMillis(10), now::get);
+
+    private final Ingredient flour = new Ingredient(1l, "Flour Tortilla", Type.WRAP);
+    private final Ingredient corn = new Ingredient(2l, "Corn Tortilla", Type.WRAP);
+    private final Ingredient salsa = new Ingredient(9l, "Salsa", Type.SAUCE);
+
+    @Test
+    public void countsUsesPerWindowMostUsedFirst() {
+        popularity.record(List.of(flour, salsa));
+        popularity.record(List.of(corn, salsa));
+
+        PopularityWindow minute = popularity.snapshot().get(0);
+        assertEquals("1m", minute.getWindow());
+        assertEquals(9l, minute.getIngredients().keySet().iterator().next());
+        assertEquals(Map.of(1l, 1l, 2l, 1l, 9l, 2l), minute.getIngredients());
+        assertEquals(Map.of(Type.WRAP, 2l, Type.SAUCE, 2l), minute.getTypes());
+    }
+
+    @Test
+    public void rollsEventsOutOfShorterWindowsFirst() {
+        popularity.record(List.of(flour));
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        popularity.record(List.of(salsa));
+
+        List<PopularityWindow> snapshot = popularity.snapshot();
+        assertEquals(Map.of(9l, 1l), snapshot.get(0).getIngredients());
+        assertEquals(Map.of(1l, 1l, 9l, 1l), snapshot.get(1).getIngredients());
+
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        snapshot = popularity.snapshot();
+        assertEquals(Map.of(), snapshot.get(1).getIngredients());
+        assertEquals(Map.of(1l, 1l, 9l, 1l), snapshot.get(2).getIngredients());
+    }
+
+    @Test
+    public void pushesSnapshotsToSubscribers() {
+        popularity.record(List.of(flour));
+
+        StepVerifier.create(popularity.updates().take(2))
+            .expectNextMatches(s -> s.size() == 3 && s.get(0).getIngredients().equals(Map.of(1l, 1l)))
+            .expectNextCount(1)
+            .verifyComplete();
+    }
+
+    @Test
+    public void slowSubscriberDoesNotHoldBackOthers() {
+        StepVerifier.create(popularity.updates(), 1)
+            .expectNextCount(1)
+            .then(() -> StepVerifier.create(popularity.updates().take(5))
+                .expectNextCount(5)
+                .expectComplete()
+                .verify(Duration.ofSeconds(2)))
+            .thenRequest(1)
+            .expectNextCount(1)
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,82 @@
+package com.orvillex.reactordemo.service;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientUpsertRepository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.data.domain.Pageable;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class IngredientServiceTest {
+    private final IngredientRepository repo = Mockito.mock(IngredientRepository.class);
+    private final IngredientUpsertRepository upserts = Mockito.mock(IngredientUpsertRepository.class);
+    private final IngredientService service = new IngredientService(repo, new IngredientCache(100, Duration.ofMinutes(1)),
+        new IngredientLoader(repo, Duration.ofMillis(1), 100, 1), new IngredientNameIndex(),
+        new IngredientWriter(upserts, Duration.ofMillis(1), 100, 1));
+
+    @Test
+    public void keepsRemainingRowsSearchableBetweenDeleteChunks() {
+        when(repo.findAll()).thenReturn(Flux.just(new Ingredient(1l, "Corn Tortilla", Type.WRAP),
+            new Ingredient(2l, "Flour Tortilla", Type.WRAP)), Flux.just(new Ingredient(2l, "Flour Tortilla", Type.WRAP)),
+            Flux.empty());
+        when(repo.deleteChunkByType("WRAP", 1)).thenReturn(Mono.just(1), Mono.just(1), Mono.just(0));
+
+        StepVerifier.create(service.search("tortilla", null, 10)).expectNextCount(2).verifyComplete();
+        StepVerifier.create(service.deleteChunkByType(Type.WRAP, 1)).expectNext(1).verifyComplete();
+        StepVerifier.create(service.search("tortilla", null, 10).map(Ingredient::getId)).expectNext(2l).verifyComplete();
+        StepVerifier.create(service.deleteChunkByType(Type.WRAP, 1)).expectNext(1).verifyComplete();
+        StepVerifier.create(service.deleteChunkByType(Type.WRAP, 1)).expectNext(0).verifyComplete();
+        StepVerifier.create(service.search("tortilla", null, 10)).verifyComplete();
+    }
+
+    @Test
+    public void readsRemainingRowsOfATypeAfterAPartialDeleteChunk() {
+        Ingredient corn = new Ingredient(2l, "Corn Tortilla", Type.WRAP);
+        when(repo.findAll()).thenReturn(Flux.just(new Ingredient(1l, "Flour Tortilla", Type.WRAP), corn,
+            new Ingredient(9l, "Salsa", Type.SAUCE)));
+        when(repo.deleteChunkByType("WRAP", 1)).thenReturn(Mono.just(1));
+        when(repo.findByTypeOrderByName(Type.WRAP, Pageable.unpaged())).thenReturn(Flux.just(corn));
+
+        StepVerifier.create(service.findAll()).expectNextCount(3).verifyComplete();
+        StepVerifier.create(service.deleteChunkByType(Type.WRAP, 1)).expectNext(1).verifyComplete();
+        StepVerifier.create(service.findByType(Type.WRAP)).expectNext(corn).verifyComplete();
+    }
+
+    @Test
+    public void sharesOneCatalogReadBetweenConcurrentFirstSearches() {
+        when(repo.findAll()).thenReturn(Flux.just(new Ingredient(1l, "Corn Tortilla", Type.WRAP))
+            .delaySubscription(Duration.ofMillis(50)));
+
+        StepVerifier.create(Flux.merge(service.search("tortilla", null, 10), service.search("corn", null, 10)))
+            .expectNextCount(2)
+            .verifyComplete();
+        verify(repo, times(1)).findAll();
+    }
+
+    @Test
+    public void reloadsTheIndexAfterAFailedSave() {
+        when(repo.findAll()).thenReturn(Flux.just(new Ingredient(1l, "Corn Tortilla", Type.WRAP)));
+        when(upserts.upsertAll(anyList())).thenReturn(Mono.error(new TransientDataAccessResourceException("down")));
+
+        StepVerifier.create(service.search("tortilla", null, 10)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.save(new Ingredient(2l, "Flour Tortilla", Type.WRAP)))
+            .expectError(TransientDataAccessResourceException.class)
+            .verify();
+        StepVerifier.create(service.search("tortilla", null, 10)).expectNextCount(1).verifyComplete();
+        verify(repo, times(2)).findAll();
+    }
+}
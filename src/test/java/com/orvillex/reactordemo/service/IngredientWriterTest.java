@@ -0,0 +1,104 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mysql.IngredientUpsertRepository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class IngredientWriterTest {
+    private final IngredientUpsertRepository repo = Mockito.mock(IngredientUpsertRepository.class);
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @Test
+    public void coalescesConcurrentSavesIntoOneUpsert() {
+        when(repo.upsertAll(any())).thenAnswer(i -> Mono.just(assignIds(i.getArgument(0))));
+        IngredientWriter writer = new IngredientWriter(repo, Duration.ofMillis(50), 100, 1);
+
+        Mono<List<String>> saved = Flux.just(new Ingredient(null, "Chips", Type.WRAP), new Ingredient(7l, "Cheddar", Type.CHEESE),
+                new Ingredient(null, "Salsa Verde", Type.SAUCE))
+            .flatMap(ingredient -> writer.save(ingredient).map(i -> i.getId() + ":" + i.getName()))
+            .collectSortedList();
+
+        StepVerifier.create(saved)
+            .assertNext(list -> assertEquals(List.of("100:Chips", "101:Salsa Verde", "7:Cheddar"), list))
+            .verifyComplete();
+        verify(repo, times(1)).upsertAll(any());
+        writer.destroy();
+    }
+
+    @Test
+    public void isolatesFailingRows() {
+        when(repo.upsertAll(any())).thenAnswer(i -> {
+            List<Ingredient> batch = i.getArgument(0);
+            if (batch.stream().anyMatch(ingredient -> ingredient.getName().length() > 25)) {
+                return Mono.error(new DataIntegrityViolationException("value too long"));
+            }
+            return Mono.just(assignIds(batch));
+        });
+        IngredientWriter writer = new IngredientWriter(repo, Duration.ofMillis(50), 100, 1);
+
+        Mono<Ingredient> good = writer.save(new Ingredient(null, "Chips", Type.WRAP));
+        Mono<Ingredient> bad = writer.save(new Ingredient(null, "A name far too long for the column", Type.WRAP));
+
+        StepVerifier.create(Flux.merge(good.map(Ingredient::getName), bad.map(Ingredient::getName).onErrorReturn("failed")).collectSortedList())
+            .assertNext(list -> assertEquals(List.of("Chips", "failed"), list))
+            .verifyComplete();
+        verify(repo, times(3)).upsertAll(any());
+        writer.destroy();
+    }
+
+    @Test
+    public void failsWholeBatchOnOtherErrors() {
+        when(repo.upsertAll(any())).thenReturn(Mono.error(new TimeoutException()));
+        IngredientWriter writer = new IngredientWriter(repo, Duration.ofMillis(50), 100, 1);
+
+        Mono<String> first = writer.save(new Ingredient(null, "Chips", Type.WRAP)).map(Ingredient::getName);
+        Mono<String> second = writer.save(new Ingredient(null, "Salsa", Type.SAUCE)).map(Ingredient::getName);
+
+        StepVerifier.create(Flux.merge(first.onErrorReturn(TimeoutException.class, "timed out"),
+                second.onErrorReturn(TimeoutException.class, "timed out")))
+            .expectNext("timed out", "timed out")
+            .verifyComplete();
+        verify(repo, times(1)).upsertAll(any());
+        writer.destroy();
+    }
+
+    @Test
+    public void rejectsIncompleteIngredientsWithoutBatching() {
+        IngredientWriter writer = new IngredientWriter(repo, Duration.ofMillis(10), 100, 1);
+
+        StepVerifier.create(writer.save(new Ingredient(null, "Chips", null)))
+            .expectError(IllegalArgumentException.class)
+            .verify(Duration.ofSeconds(5));
+        verify(repo, never()).upsertAll(any());
+        writer.destroy();
+    }
+
+    private List<Ingredient> assignIds(List<Ingredient> batch) {
+        List<Ingredient> saved = new ArrayList<>();
+        for (Ingredient ingredient : batch) {
+            saved.add(ingredient.getId() == null ? ingredient.withId(ids.getAndIncrement()) : ingredient);
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,45 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class MicroBatcherTest {
+    @Test
+    public void survivesWindowsClosingWhileAllBatchesAreInFlight() {
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(10, Duration.ofMillis(1), 1,
+            batch -> Mono.just(batch).delayElement(Duration.ofMillis(20)));
+
+        List<Integer> results = Flux.interval(Duration.ofMillis(2))
+            .take(40)
+            .map(Long::intValue)
+            .flatMap(batcher::submit)
+            .collectSortedList()
+            .block(Duration.ofSeconds(10));
+
+        assertEquals(40, results.size());
+        assertFalse(batcher.isDisposed());
+        StepVerifier.create(batcher.submit(41)).expectNext(41).expectComplete().verify(Duration.ofSeconds(5));
+        batcher.dispose();
+    }
+
+    @Test
+    public void failsWaitingAndLaterCallersOnceDisposed() {
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(10, Duration.ofMillis(1), 1,
+            batch -> Mono.never());
+
+        StepVerifier.create(batcher.submit(1))
+            .then(batcher::dispose)
+            .expectErrorMessage("Batcher disposed").verify(Duration.ofSeconds(5));
+        StepVerifier.create(batcher.submit(2))
+            .expectErrorMessage("Batcher disposed").verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,90 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.orvillex.reactordemo.domain.Order;
+import com.orvillex.reactordemo.repository.mysql.OrderRepository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class OrderServiceTest {
+    private final OrderRepository repo = Mockito.mock(OrderRepository.class);
+
+    @Test
+    public void persistsConcurrentOrdersAsOneBatch() {
+        when(repo.insertAll(any())).thenAnswer(i -> {
+            List<Order> batch = i.getArgument(0);
+            List<Order> saved = new ArrayList<>();
+            for (int n = 0; n < batch.size(); n++) {
+                saved.add(batch.get(n).withId(100l + n));
+            }
+            return Mono.just(saved);
+        });
+        OrderService service = new OrderService(repo, Duration.ofMillis(50), 100, 1);
+
+        StepVerifier.create(Flux.just("a", "b", "c").flatMap(name -> service.place(order(name))).collectList())
+            .assertNext(placed -> {
+                assertEquals(3, placed.size());
+                placed.forEach(o -> {
+                    assertNotNull(o.getId());
+                    assertNotNull(o.getPlacedAt());
+                });
+            })
+            .verifyComplete();
+
+        verify(repo, times(1)).insertAll(any());
+        service.destroy();
+    }
+
+    @Test
+    public void failsEveryCallerWhenBatchFails() {
+        when(repo.insertAll(any())).thenReturn(Mono.error(new IllegalStateException("rolled back")));
+        OrderService service = new OrderService(repo, Duration.ofMillis(10), 100, 1);
+
+        StepVerifier.create(service.place(order("a"))).expectErrorMessage("rolled back").verify(Duration.ofSeconds(5));
+        service.destroy();
+    }
+
+    @Test
+    public void failsOnlyTheBadOrderWhenBatchViolatesAConstraint() {
+        when(repo.insertAll(any())).thenAnswer(i -> {
+            List<Order> batch = i.getArgument(0);
+            if (batch.stream().anyMatch(o -> o.getTacos().contains(42l))) {
+                return Mono.error(new DataIntegrityViolationException("unknown taco"));
+            }
+            return Mono.just(List.of(batch.get(0).withId(100l)));
+        });
+        OrderService service = new OrderService(repo, Duration.ofMillis(50), 100, 1);
+        Order bad = order("b").withTacos(List.of(42l));
+
+        StepVerifier.create(Flux.just(order("a"), bad)
+                .flatMap(order -> service.place(order).map(Order::getDeliveryName).onErrorReturn("failed"))
+                .collectList())
+            .assertNext(results -> assertEquals(List.of("a", "failed"), results.stream().sorted().collect(Collectors.toList())))
+            .verifyComplete();
+
+        verify(repo, times(3)).insertAll(any());
+        service.destroy();
+    }
+
+    private static Order order(String name) {
+        return new Order(null, name, "1 Main St", "Springfield", "IL", "62701",
+            "4111111111111111", "12/25", "123", null, List.of(1l));
+    }
+}
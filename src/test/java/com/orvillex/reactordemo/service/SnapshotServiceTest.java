@@ -0,0 +1,104 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.IngredientUpsertRepository;
+import com.orvillex.reactordemo.support.InMemoryTacoRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class SnapshotServiceTest {
+    @TempDir
+    Path directory;
+
+    private final IngredientRepository ingredientRepository = Mockito.mock(IngredientRepository.class);
+    private final IngredientUpsertRepository upserts = Mockito.mock(IngredientUpsertRepository.class);
+    private final List<Ingredient> upserted = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        when(upserts.upsertAll(any())).thenAnswer(i -> {
+            List<Ingredient> batch = i.getArgument(0);
+            synchronized (upserted) {
+                upserted.addAll(batch);
+            }
+            return Mono.just(batch);
+        });
+    }
+
+    @Test
+    public void roundTripsIngredientsAndTacos() throws IOException {
+        List<Ingredient> catalog = List.of(new Ingredient(1l, "Flour Tortilla", Type.WRAP),
+            new Ingredient(2l, "Jalapeño", Type.VEGGIES), new Ingredient(3l, "Salsa", Type.SAUCE));
+        when(ingredientRepository.findAll()).thenReturn(Flux.fromIterable(catalog));
+        when(ingredientRepository.count()).thenReturn(Mono.just(3l));
+        InMemoryTacoRepository source = new InMemoryTacoRepository();
+        Flux.range(0, 25)
+            .map(i -> new Taco(null, "Taco " + i, i % 5 == 0 ? null : "Remark " + i))
+            .as(source::saveAll)
+            .blockLast();
+
+        StepVerifier.create(service(source).export("staging").last())
+            .expectNext(new SnapshotProgress("staging", 3, 25, 28, true))
+            .verifyComplete();
+        assertTrue(Files.exists(directory.resolve("staging")));
+        assertFalse(Files.exists(directory.resolve("staging.partial")));
+
+        InMemoryTacoRepository target = new InMemoryTacoRepository();
+        StepVerifier.create(service(target).load("staging").collectList())
+            .assertNext(progress -> {
+                assertEquals(5, progress.size());
+                assertEquals(new SnapshotProgress("staging", 3, 25, 28, true), progress.get(4));
+            })
+            .verifyComplete();
+
+        upserted.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        assertEquals(catalog, upserted);
+        assertEquals(source.findAll().collectSortedList(this::byId).block(), target.findAll().collectSortedList(this::byId).block());
+    }
+
+    @Test
+    public void rejectsMissingCorruptAndUnsafeSnapshots() throws IOException {
+        InMemoryTacoRepository tacos = new InMemoryTacoRepository();
+        SnapshotService service = service(tacos);
+        Files.write(directory.resolve("broken"), new byte[64]);
+
+        StepVerifier.create(service.load("missing")).expectError(NoSuchFileException.class).verify();
+        StepVerifier.create(service.load("broken")).expectErrorMessage("Not a snapshot file or unsupported version").verify();
+        StepVerifier.create(service.load("../etc")).expectError(IllegalArgumentException.class).verify();
+    }
+
+    private SnapshotService service(InMemoryTacoRepository tacos) {
+        IngredientService ingredients = new IngredientService(ingredientRepository, new IngredientCache(100, Duration.ofMinutes(1)),
+            new IngredientLoader(ingredientRepository, Duration.ofMillis(1), 100, 1), new IngredientNameIndex(),
+            new IngredientWriter(upserts, Duration.ofMillis(1), 100, 1));
+        return new SnapshotService(ingredientRepository, ingredients, tacos, directory.toString(), 10, 2);
+    }
+
+    private int byId(Taco a, Taco b) {
+        return a.getId().compareTo(b.getId());
+    }
+}
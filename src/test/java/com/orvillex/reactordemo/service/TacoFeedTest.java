@@ -0,0 +1,88 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.enums.FeedOverflow;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+public class TacoFeedTest {
+    private final Sinks.Many<TacoChange> upstream = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final TacoFeed feed = new TacoFeed(upstream.asFlux().doOnSubscribe(s -> subscriptions.incrementAndGet()),
+        2, Duration.ofMillis(10));
+
+    @Test
+    public void fansOutOneUpstreamSubscription() {
+        StepVerifier first = StepVerifier.create(feed.feed(FeedOverflow.LATEST).take(2))
+            .expectNext(change("1"), change("2"))
+            .expectComplete()
+            .verifyLater();
+        StepVerifier second = StepVerifier.create(feed.changes().take(2))
+            .expectNext(change("1"), change("2"))
+            .expectComplete()
+            .verifyLater();
+
+        upstream.tryEmitNext(change("1"));
+        upstream.tryEmitNext(change("2"));
+
+        first.verify(Duration.ofSeconds(5));
+        second.verify(Duration.ofSeconds(5));
+        assertEquals(1, subscriptions.get());
+        feed.destroy();
+    }
+
+    @Test
+    public void replaysOnlyTheLastChangesToLateSubscribers() {
+        feed.changes().subscribe().dispose();
+        upstream.tryEmitNext(change("1"));
+        upstream.tryEmitNext(change("2"));
+        upstream.tryEmitNext(change("3"));
+
+        StepVerifier.create(feed.changes().take(2))
+            .expectNext(change("2"), change("3"))
+            .verifyComplete();
+        feed.destroy();
+    }
+
+    @Test
+    public void dropsForSlowSubscribersWithoutStallingOthers() {
+        StepVerifier.create(feed.feed(FeedOverflow.DROP), 0)
+            .then(() -> {
+                upstream.tryEmitNext(change("1"));
+                upstream.tryEmitNext(change("2"));
+            })
+            .thenRequest(1)
+            .then(() -> upstream.tryEmitNext(change("3")))
+            .expectNext(change("3"))
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+        feed.destroy();
+    }
+
+    @Test
+    public void reopensFailedChangeStream() {
+        AtomicInteger attempts = new AtomicInteger();
+        TacoFeed retrying = new TacoFeed(Flux.defer(() -> attempts.incrementAndGet() < 3
+            ? Flux.error(new IllegalStateException("not a replica set"))
+            : Flux.just(change("1"))), 2, Duration.ofMillis(1));
+
+        StepVerifier.create(retrying.changes().take(1))
+            .expectNext(change("1"))
+            .verifyComplete();
+        assertEquals(3, attempts.get());
+        retrying.destroy();
+    }
+
+    private static TacoChange change(String id) {
+        return new TacoChange("insert", id, new Taco(id, "name", "remark"));
+    }
+}
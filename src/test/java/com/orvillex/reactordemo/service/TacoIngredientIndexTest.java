@@ -0,0 +1,81 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+public class TacoIngredientIndexTest {
+    @Test
+    public void answersMembershipIntersectionAndCount() {
+        TacoIngredientIndex index = new TacoIngredientIndex();
+        index.add(1, 10);
+        index.add(1, 20);
+        index.add(2, 10);
+        index.add(3, 10);
+        index.add(3, 20);
+        index.add(3, 30);
+
+        assertTrue(index.contains(20, 3));
+        assertFalse(index.contains(20, 2));
+        assertFalse(index.contains(99, 1));
+
+        assertArrayEquals(new long[] { 1, 2, 3 }, index.tacos(new long[] { 10 }, Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[] { 1, 3 }, index.tacos(new long[] { 20, 10 }, Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[] { 3 }, index.tacos(new long[] { 10, 20, 30 }, Long.MIN_VALUE, 10));
+        assertEquals(2, index.count(new long[] { 10, 20 }));
+        assertEquals(0, index.count(new long[] { 10, 99 }));
+        assertEquals(0, index.count(new long[0]));
+    }
+
+    @Test
+    public void pagesAfterTacoId() {
+        TacoIngredientIndex index = new TacoIngredientIndex();
+        LongStream.rangeClosed(1, 10).forEach(taco -> index.add(taco, 1));
+
+        assertArrayEquals(new long[] { 1, 2, 3 }, index.tacos(new long[] { 1 }, Long.MIN_VALUE, 3));
+        assertArrayEquals(new long[] { 4, 5, 6 }, index.tacos(new long[] { 1 }, 3, 3));
+        assertArrayEquals(new long[] { 10 }, index.tacos(new long[] { 1 }, 9, 3));
+        assertArrayEquals(new long[0], index.tacos(new long[] { 1 }, 10, 3));
+    }
+
+    @Test
+    public void keepsListsSortedAndIgnoresDuplicates() {
+        TacoIngredientIndex index = new TacoIngredientIndex();
+        index.add(5, 1);
+        index.add(2, 1);
+        index.add(9, 1);
+        index.add(2, 1);
+        index.trim();
+        index.add(7, 1);
+
+        assertEquals(4, index.links());
+        assertArrayEquals(new long[] { 2, 5, 7, 9 }, index.tacos(new long[] { 1 }, Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    public void intersectsLikeANaiveScan() {
+        TacoIngredientIndex index = new TacoIngredientIndex();
+        boolean[][] uses = new boolean[5000][4];
+        Random random = new Random(42);
+        for (int taco = 0; taco < uses.length; taco++) {
+            for (int ingredient = 0; ingredient < 4; ingredient++) {
+                if (random.nextInt(ingredient + 2) == 0) {
+                    uses[taco][ingredient] = true;
+                    index.add(taco, ingredient);
+                }
+            }
+        }
+
+        long[] expected = LongStream.range(0, uses.length)
+            .filter(taco -> uses[(int) taco][0] && uses[(int) taco][2] && uses[(int) taco][3])
+            .toArray();
+        assertArrayEquals(expected, index.tacos(new long[] { 3, 0, 2 }, Long.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(expected.length, index.count(new long[] { 0, 2, 3 }));
+    }
+}
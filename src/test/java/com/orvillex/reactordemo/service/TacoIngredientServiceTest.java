@@ -0,0 +1,125 @@
+package com.orvillex.reactordemo.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.orvillex.reactordemo.domain.Ingredient;
+import com.orvillex.reactordemo.domain.TacoIngredients;
+import com.orvillex.reactordemo.enums.Type;
+import com.orvillex.reactordemo.repository.mysql.IngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.TacoIngredientRepository;
+import com.orvillex.reactordemo.repository.mysql.TacoIngredientRow;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class TacoIngredientServiceTest {
+    private final TacoIngredientRepository tacos = Mockito.mock(TacoIngredientRepository.class);
+    private final IngredientRepository ingredients = Mockito.mock(IngredientRepository.class);
+    private final IngredientPopularity popularity = new IngredientPopularity(Duration.ofSeconds(1));
+    private final TacoIngredientIndex index = new TacoIngredientIndex();
+
+    @Test
+    public void regroupsJoinedRowsAndResolvesIngredientsInBatches() {
+        when(tacos.findAll()).thenReturn(Flux.just(
+            new TacoIngredientRow(1l, "Classic", null, 1l),
+            new TacoIngredientRow(1l, "Classic", null, 3l),
+            new TacoIngredientRow(2l, "Plain", null, null),
+            new TacoIngredientRow(3l, "Veggie", null, 6l),
+            new TacoIngredientRow(3l, "Veggie", null, 1l)));
+        when(ingredients.findAllById(any(Iterable.class))).thenAnswer(i -> {
+            List<Ingredient> found = new ArrayList<>();
+            for (Long id : (Iterable<Long>) i.getArgument(0)) {
+                found.add(new Ingredient(id, "I" + id, Type.VEGGIES));
+            }
+            return Flux.fromIterable(found);
+        });
+        IngredientLoader loader = new IngredientLoader(ingredients, Duration.ofMillis(50), 100, 1);
+        TacoIngredientService service = service(loader);
+
+        StepVerifier.create(service.findAll())
+            .expectNextMatches(t -> t.getId() == 1l && names(t).equals(List.of("I1", "I3")))
+            .expectNextMatches(t -> t.getId() == 2l && t.getIngredients().isEmpty())
+            .expectNextMatches(t -> t.getId() == 3l && names(t).equals(List.of("I6", "I1")))
+            .verifyComplete();
+
+        verify(ingredients, times(1)).findAllById(any(Iterable.class));
+        loader.destroy();
+    }
+
+    @Test
+    public void countsSavedTacosIntoPopularity() {
+        when(ingredients.findAllById(any(Iterable.class))).thenReturn(Flux.just(
+            new Ingredient(1l, "Flour Tortilla", Type.WRAP), new Ingredient(6l, "Lettuce", Type.VEGGIES)));
+        when(tacos.insert(eq("Fresh"), any(), eq(List.of(1l, 6l)))).thenReturn(Mono.just(7l));
+        IngredientLoader loader = new IngredientLoader(ingredients, Duration.ofMillis(1), 100, 1);
+        TacoIngredientService service = service(loader);
+
+        StepVerifier.create(service.save(new TacoIngredients(null, "Fresh", null,
+                List.of(new Ingredient(1l, null, null), new Ingredient(6l, null, null)))))
+            .expectNextMatches(t -> t.getId() == 7l && names(t).equals(List.of("Flour Tortilla", "Lettuce")))
+            .verifyComplete();
+
+        PopularityWindow minute = popularity.snapshot().get(0);
+        assertEquals(Map.of(1l, 1l, 6l, 1l), minute.getIngredients());
+        assertEquals(Map.of(Type.WRAP, 1l, Type.VEGGIES, 1l), minute.getTypes());
+
+        StepVerifier.create(service.save(new TacoIngredients(null, "Bad", null, List.of(new Ingredient(42l, null, null)))))
+            .expectError(IllegalArgumentException.class)
+            .verify(Duration.ofSeconds(5));
+        loader.destroy();
+    }
+
+    @Test
+    public void answersFromIndexLoadedOnceAndKeptCurrent() {
+        when(tacos.findLinks()).thenReturn(Flux.just(
+            new TacoIngredientRow(1l, null, null, 1l),
+            new TacoIngredientRow(1l, null, null, 3l),
+            new TacoIngredientRow(2l, null, null, 1l)));
+        when(ingredients.findAllById(any(Iterable.class))).thenReturn(Flux.just(
+            new Ingredient(1l, "Flour Tortilla", Type.WRAP), new Ingredient(3l, "Ground Beef", Type.PROTEIN)));
+        when(tacos.insert(eq("Fresh"), any(), eq(List.of(1l, 3l)))).thenReturn(Mono.just(5l));
+        IngredientLoader loader = new IngredientLoader(ingredients, Duration.ofMillis(1), 100, 1);
+        TacoIngredientService service = service(loader);
+
+        StepVerifier.create(service.findTacosWithAll(new long[] { 1l, 3l }, Long.MIN_VALUE, 10))
+            .assertNext(ids -> assertArrayEquals(new long[] { 1l }, ids))
+            .verifyComplete();
+
+        StepVerifier.create(service.save(new TacoIngredients(null, "Fresh", null,
+                List.of(new Ingredient(1l, null, null), new Ingredient(3l, null, null)))))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        StepVerifier.create(service.countTacosWithAll(new long[] { 1l, 3l })).expectNext(2).verifyComplete();
+        StepVerifier.create(service.usesIngredient(2l, 3l)).expectNext(false).verifyComplete();
+        verify(tacos, times(1)).findLinks();
+        loader.destroy();
+    }
+
+    private TacoIngredientService service(IngredientLoader loader) {
+        return new TacoIngredientService(tacos,
+            new IngredientService(ingredients, new IngredientCache(100, Duration.ofMinutes(1)), loader, new IngredientNameIndex(),
+                Mockito.mock(IngredientWriter.class)),
+            popularity, index, 32);
+    }
+
+    private static List<String> names(TacoIngredients taco) {
+        return taco.getIngredients().stream().map(Ingredient::getName).collect(Collectors.toList());
+    }
+}
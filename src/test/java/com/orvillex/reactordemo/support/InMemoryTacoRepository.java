@@ -0,0 +1,208 @@
+package com.orvillex.reactordemo.support;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.orvillex.reactordemo.domain.Taco;
+import com.orvillex.reactordemo.repository.mongodb.TacoRepository;
+
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-process stand-in for the Mongo backed {@link TacoRepository}, used where
+ * a running Mongo is not available (benchmarks, load tests).
+ */
+public class InMemoryTacoRepository implements TacoRepository {
+    private final Map<String, Taco> tacos = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Flux<Taco> findByNameOrderByRemark(String name, Pageable pageable) {
+        return page(() -> tacos.values().stream().filter(t -> t.getName().equals(name)),
+            Sort.by("remark").and(pageable.getSort()), pageable);
+    }
+
+    @Override
+    public Flux<Taco> findByNameAfter(String name, String remark, ObjectId id, Pageable pageable) {
+        String after = id.toHexString();
+        return page(() -> tacos.values().stream()
+            .filter(t -> t.getName().equals(name))
+            .filter(t -> {
+                if (t.getRemark() == null) {
+                    return false;
+                }
+                int c = t.getRemark().compareTo(remark);
+                return c > 0 || (c == 0 && t.getId().compareTo(after) > 0);
+            }), pageable.getSort(), pageable);
+    }
+
+    @Override
+    public Flux<Taco> findByNameAfterNullRemark(String name, ObjectId id, Pageable pageable) {
+        String after = id.toHexString();
+        return page(() -> tacos.values().stream()
+            .filter(t -> t.getName().equals(name))
+            .filter(t -> t.getRemark() != null || t.getId().compareTo(after) > 0), pageable.getSort(), pageable);
+    }
+
+    @Override
+    public Flux<Taco> findByRemarkContaining(String remark, Sort sort) {
+        return Flux.fromStream(() -> tacos.values().stream()
+            .filter(t -> t.getRemark() != null && t.getRemark().contains(remark))
+            .sorted(comparator(sort)));
+    }
+
+    @Override
+    public Mono<Integer> deleteByName(String name) {
+        return Mono.fromSupplier(() -> {
+            int deleted = 0;
+            for (Taco taco : tacos.values()) {
+                if (taco.getName().equals(name) && tacos.remove(taco.getId(), taco)) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public Flux<Taco> findIdsByName(String name, Pageable pageable) {
+        return page(() -> tacos.values().stream().filter(t -> t.getName().equals(name)), pageable.getSort(), pageable)
+            .map(t -> new Taco(t.getId(), null, null));
+    }
+
+    @Override
+    public Mono<Long> deleteByIdIn(Collection<String> ids) {
+        return Mono.fromSupplier(() -> ids.stream().filter(id -> tacos.remove(id) != null).count());
+    }
+
+    @Override
+    public <S extends Taco> Mono<S> save(S entity) {
+        return Mono.fromSupplier(() -> {
+            @SuppressWarnings("unchecked")
+            S saved = entity.getId() != null ? entity
+                : (S) new Taco(ObjectId.get().toHexString(), entity.getName(), entity.getRemark());
+            tacos.put(saved.getId(), saved);
+            return saved;
+        });
+    }
+
+    @Override
+    public <S extends Taco> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Taco> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<Taco> findById(String id) {
+        return Mono.fromSupplier(() -> tacos.get(id));
+    }
+
+    @Override
+    public Mono<Taco> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.fromSupplier(() -> tacos.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Taco> findAll() {
+        return Flux.defer(() -> Flux.fromIterable(tacos.values()));
+    }
+
+    @Override
+    public Flux<Taco> findAllById(Iterable<String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Flux<Taco> findAllById(Publisher<String> idStream) {
+        return Flux.from(idStream).concatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) tacos.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> tacos.remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Taco entity) {
+        return deleteById(entity.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Taco> entities) {
+        return Flux.fromIterable(entities).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Taco> entityStream) {
+        return Flux.from(entityStream).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(tacos::clear);
+    }
+
+    private static Flux<Taco> page(Supplier<Stream<Taco>> matches, Sort sort, Pageable pageable) {
+        return Flux.fromStream(() -> {
+            Stream<Taco> sorted = matches.get().sorted(comparator(sort));
+            return pageable.isPaged() ? sorted.skip(pageable.getOffset()).limit(pageable.getPageSize()) : sorted;
+        });
+    }
+
+    private static Comparator<Taco> comparator(Sort sort) {
+        Comparator<Taco> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Taco> property = Comparator.comparing(property(order.getProperty()),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? property : property.reversed());
+        }
+        return comparator;
+    }
+
+    private static Function<Taco, String> property(String name) {
+        switch (name) {
+            case "id":
+                return Taco::getId;
+            case "name":
+                return Taco::getName;
+            case "remark":
+                return Taco::getRemark;
+            default:
+                throw new IllegalArgumentException("Unknown Taco property " + name);
+        }
+    }
+}